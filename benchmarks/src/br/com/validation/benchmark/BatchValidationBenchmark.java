@@ -0,0 +1,77 @@
+package br.com.validation.benchmark;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import br.com.validation.BatchResult;
+import br.com.validation.BatchValidator;
+import br.com.validation.Validations;
+
+/**
+ * Benchmarks de {@link BatchValidator} sobre uma coluna de 1M CEPs
+ * (8 digitos, 1% invalidos), variando o tamanho do lote.
+ *
+ * <code>batch = 0</code> e a validacao sequencial; o ganho dos lotes
+ * depende de quantos nucleos a maquina tem.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BatchValidationBenchmark {
+
+    private static final int ROWS = 1 << 20;
+
+    @Param({"0", "4096", "65536"})
+    public int batch;
+
+    private String[] column;
+
+    private BatchValidator<String> validator;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        column = new String[ROWS];
+        for (int i = 0; i < ROWS; i++) {
+            int cep = 10000000 + random.nextInt(90000000);
+            column[i] = random.nextInt(100) == 0 ? cep + "-" : String.valueOf(cep);
+        }
+        validator = BatchValidator.of(Validations::isNumeric);
+        if (batch == 0) {
+            validator = validator.parallelThreshold(Integer.MAX_VALUE);
+        } else {
+            validator = validator.parallelThreshold(1).batchSize(batch);
+        }
+    }
+
+    @Benchmark
+    public BatchResult validate() {
+        return validator.validate(column);
+    }
+
+    @Benchmark
+    public int loop() {
+        int failed = 0;
+        for (String value : column) {
+            if (!Validations.isNumeric(value)) {
+                failed++;
+            }
+        }
+        return failed;
+    }
+}
@@ -0,0 +1,162 @@
+package br.com.validation.benchmark;
+
+import java.text.SimpleDateFormat;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import br.com.validation.CachedRule;
+import br.com.validation.DateFormats;
+import br.com.validation.Validations;
+
+/**
+ * Benchmarks dos predicados de data de {@link Validations}.
+ *
+ * O estado e por thread porque <code>SimpleDateFormat</code> nao
+ * e thread-safe. As versoes com mascara usam os formatters
+ * compartilhados de {@link DateFormats}; "dd.MM.yyyy" nao tem leitor
+ * de layout fixo e mede o caminho do <code>DateTimeFormatter</code>.
+ *
+ * As versoes <code>Column</code> percorrem uma coluna repetitiva de
+ * 4096 datas com 366 valores distintos, com e sem {@link CachedRule}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DateValidationsBenchmark {
+
+    private Date today;
+
+    private Date lastWeek;
+
+    private Date nextWeek;
+
+    private SimpleDateFormat format;
+
+    private Instant now;
+
+    private LocalDate localToday;
+
+    private String[] column;
+
+    private int row;
+
+    private CachedRule<String> cachedDate;
+
+    @Setup
+    public void setUp() {
+        long day = 24L * 60 * 60 * 1000;
+        today = new Date();
+        lastWeek = new Date(today.getTime() - 7 * day);
+        nextWeek = new Date(today.getTime() + 7 * day);
+        format = new SimpleDateFormat("dd/MM/yyyy");
+        now = today.toInstant();
+        localToday = LocalDate.now();
+        column = new String[4096];
+        LocalDate first = LocalDate.of(2024, 1, 1);
+        for (int i = 0; i < column.length; i++) {
+            LocalDate date = first.plusDays(i % 366);
+            column[i] = String.format("%02d.%02d.%04d", date.getDayOfMonth(), date.getMonthValue(), date.getYear());
+        }
+        cachedDate = CachedRule.builder((String value) -> Validations.isValidDate(value, "dd.MM.yyyy"))
+            .maximumSize(1000)
+            .build();
+    }
+
+    @Benchmark
+    public boolean isToday() {
+        return Validations.isToday(today);
+    }
+
+    @Benchmark
+    public boolean isTodayMillis() {
+        return Validations.isToday(today.getTime());
+    }
+
+    @Benchmark
+    public boolean isTodayInstant() {
+        return Validations.isToday(now);
+    }
+
+    @Benchmark
+    public boolean isTodayLocalDate() {
+        return Validations.isToday(localToday);
+    }
+
+    @Benchmark
+    public boolean isDaysPast() {
+        return Validations.isDaysPast(lastWeek, 10);
+    }
+
+    @Benchmark
+    public boolean isFutureDay() {
+        return Validations.isFutureDay(nextWeek);
+    }
+
+    @Benchmark
+    public boolean isValidDate() {
+        return Validations.isValidDate("17/10/2026", format);
+    }
+
+    @Benchmark
+    public boolean isValidDateInvalid() {
+        return Validations.isValidDate("17-10-2026", format);
+    }
+
+    @Benchmark
+    public boolean isIntervalDateValid() {
+        return Validations.isIntervalDateValid("01/02/2007", "03/02/2007", format);
+    }
+
+    @Benchmark
+    public boolean isValidDatePattern() {
+        return Validations.isValidDate("17/10/2026", DateFormats.DAY_MONTH_YEAR);
+    }
+
+    @Benchmark
+    public boolean isValidDatePatternInvalid() {
+        return Validations.isValidDate("17-10-2026", DateFormats.DAY_MONTH_YEAR);
+    }
+
+    @Benchmark
+    public boolean isValidDateFormatter() {
+        return Validations.isValidDate("17.10.2026", "dd.MM.yyyy");
+    }
+
+    @Benchmark
+    public boolean isValidDateFormatterInvalid() {
+        return Validations.isValidDate("17-10-2026", "dd.MM.yyyy");
+    }
+
+    @Benchmark
+    public boolean isIntervalDateValidPattern() {
+        return Validations.isIntervalDateValid("01/02/2007", "03/02/2007", DateFormats.DAY_MONTH_YEAR);
+    }
+
+    @Benchmark
+    public boolean isValidDateColumn() {
+        row = (row + 1) & (column.length - 1);
+        return Validations.isValidDate(column[row], "dd.MM.yyyy");
+    }
+
+    @Benchmark
+    public boolean isValidDateColumnCached() {
+        row = (row + 1) & (column.length - 1);
+        return cachedDate.test(column[row]);
+    }
+}
@@ -0,0 +1,117 @@
+package br.com.validation.benchmark;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import br.com.validation.BatchResult;
+import br.com.validation.BatchValidator;
+import br.com.validation.Documents;
+
+/**
+ * Benchmarks de {@link Documents}, comparados com a validacao por
+ * regex e <code>replaceAll</code> que eles substituem.
+ *
+ * <code>cpfColumn</code> valida uma coluna de 1M CPFs mascarados (1%
+ * invalidos) com o {@link BatchValidator}; o tempo e por coluna.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DocumentsBenchmark {
+
+    private static final int ROWS = 1 << 20;
+
+    private String cpf;
+
+    private String cnpj;
+
+    private String[] column;
+
+    private BatchValidator<String> batch;
+
+    @Setup
+    public void setUp() {
+        cpf = "529.982.247-25";
+        cnpj = "12.ABC.345/01DE-35";
+        Random random = new Random(42);
+        column = new String[ROWS];
+        for (int i = 0; i < ROWS; i++) {
+            int[] digits = new int[11];
+            for (int j = 0; j < 9; j++) {
+                digits[j] = random.nextInt(10);
+            }
+            digits[9] = checkDigit(digits, 9);
+            digits[10] = checkDigit(digits, 10);
+            if (random.nextInt(100) == 0) {
+                digits[10] = (digits[10] + 1) % 10;
+            }
+            StringBuilder sb = new StringBuilder(14);
+            for (int j = 0; j < 11; j++) {
+                if (j == 3 || j == 6) {
+                    sb.append('.');
+                } else if (j == 9) {
+                    sb.append('-');
+                }
+                sb.append(digits[j]);
+            }
+            column[i] = sb.toString();
+        }
+        batch = BatchValidator.of(Documents::isCpf);
+    }
+
+    private static int checkDigit(int[] digits, int count) {
+        int sum = 0;
+        for (int i = 0; i < count; i++) {
+            sum += digits[i] * (count + 1 - i);
+        }
+        int r = sum % 11;
+        return r < 2 ? 0 : 11 - r;
+    }
+
+    @Benchmark
+    public boolean isCpf() {
+        return Documents.isCpf(cpf);
+    }
+
+    @Benchmark
+    public boolean isCpfRegex() {
+        if (!cpf.matches("\\d{3}\\.?\\d{3}\\.?\\d{3}-?\\d{2}")) {
+            return false;
+        }
+        String digits = cpf.replaceAll("\\D", "");
+        int[] values = new int[11];
+        for (int i = 0; i < 11; i++) {
+            values[i] = digits.charAt(i) - '0';
+        }
+        return checkDigit(values, 9) == values[9] && checkDigit(values, 10) == values[10];
+    }
+
+    @Benchmark
+    public boolean isCnpj() {
+        return Documents.isCnpj(cnpj);
+    }
+
+    @Benchmark
+    public boolean isPhone() {
+        return Documents.isPhone("(11) 98765-4321");
+    }
+
+    @Benchmark
+    public BatchResult cpfColumn() {
+        return batch.validate(column);
+    }
+}
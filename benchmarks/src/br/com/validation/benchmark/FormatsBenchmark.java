@@ -0,0 +1,106 @@
+package br.com.validation.benchmark;
+
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import br.com.validation.Formats;
+
+/**
+ * Benchmarks de {@link Formats} contra o <code>Pattern</code>
+ * equivalente, documentado em cada metodo.
+ *
+ * <code>emailPathological</code> e um dominio de 12 rotulos "a-a-a..." sem
+ * fim valido: o regex retrocede em cada rotulo, o automato rejeita numa
+ * passada.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FormatsBenchmark {
+
+    private static final Pattern EMAIL = Pattern.compile(
+        "[A-Za-z0-9.!#$%&'*+/=?^_`{|}~-]+@[A-Za-z0-9](?:[A-Za-z0-9-]*[A-Za-z0-9])?"
+        + "(?:\\.[A-Za-z0-9](?:[A-Za-z0-9-]*[A-Za-z0-9])?)+");
+
+    private static final Pattern URL = Pattern.compile(
+        "(?i:https?|ftp)://[A-Za-z0-9](?:[A-Za-z0-9-]*[A-Za-z0-9])?"
+        + "(?:\\.[A-Za-z0-9](?:[A-Za-z0-9-]*[A-Za-z0-9])?)*(?::[0-9]{1,5})?"
+        + "(?:[/?#](?:[A-Za-z0-9._~!$&'()*+,;=:@/?#-]|%[0-9A-Fa-f]{2})*)?");
+
+    private static final Pattern UUID = Pattern.compile(
+        "[0-9a-fA-F]{8}-[0-9a-fA-F]{4}-[0-9a-fA-F]{4}-[0-9a-fA-F]{4}-[0-9a-fA-F]{12}");
+
+    private String email;
+
+    private String pathological;
+
+    private String url;
+
+    private String uuid;
+
+    @Setup
+    public void setUp() {
+        email = "nome.sobrenome+tag@mail.example.com.br";
+        StringBuilder sb = new StringBuilder("x@");
+        for (int i = 0; i < 12; i++) {
+            sb.append("a-a-a-a-a-a-a-a.");
+        }
+        pathological = sb.append('-').toString();
+        url = "https://www.example.com.br:8443/api/v1/clientes?cpf=52998224725&page=2#resultado";
+        uuid = "123e4567-e89b-12d3-a456-426614174000";
+    }
+
+    @Benchmark
+    public boolean isEmail() {
+        return Formats.isEmail(email);
+    }
+
+    @Benchmark
+    public boolean isEmailPattern() {
+        return EMAIL.matcher(email).matches();
+    }
+
+    @Benchmark
+    public boolean emailPathological() {
+        return Formats.isEmail(pathological);
+    }
+
+    @Benchmark
+    public boolean emailPathologicalPattern() {
+        return EMAIL.matcher(pathological).matches();
+    }
+
+    @Benchmark
+    public boolean isUrl() {
+        return Formats.isUrl(url);
+    }
+
+    @Benchmark
+    public boolean isUrlPattern() {
+        return URL.matcher(url).matches();
+    }
+
+    @Benchmark
+    public boolean isUuid() {
+        return Formats.isUuid(uuid);
+    }
+
+    @Benchmark
+    public boolean isUuidPattern() {
+        return UUID.matcher(uuid).matches();
+    }
+}
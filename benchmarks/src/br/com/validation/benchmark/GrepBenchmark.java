@@ -0,0 +1,152 @@
+package br.com.validation.benchmark;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import br.com.validation.string.GrepEngine;
+import br.com.validation.string.Match;
+import br.com.validation.string.TrigramIndex;
+
+/**
+ * Benchmarks do {@link GrepEngine} sobre um log sintetico gerado no
+ * setup, que fica no cache de paginas durante a medicao.
+ *
+ * O log tem uma unica linha com "needle-0042", para comparar a
+ * pesquisa de um literal raro com e sem o {@link TrigramIndex}, alem
+ * do custo de montar o indice.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class GrepBenchmark {
+
+    private static final String[] WORDS = {
+        "error", "warn", "info", "debug", "timeout", "user", "request", "ok"
+    };
+
+    @Param({"32"})
+    public int megabytes;
+
+    private Path file;
+
+    private Path indexFile;
+
+    private GrepEngine rare;
+
+    private GrepEngine rareIndexed;
+
+    private GrepEngine literal;
+
+    private GrepEngine literalNoLines;
+
+    private GrepEngine multi;
+
+    private GrepEngine regex;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        file = Files.createTempFile("grep-bench", ".log");
+        Random random = new Random(42);
+        long target = (long) megabytes << 20;
+        long written = 0;
+        try (BufferedWriter out = Files.newBufferedWriter(file, StandardCharsets.US_ASCII)) {
+            for (long line = 0; written < target; line++) {
+                if (written >= target / 2 && written - 100 < target / 2)
+                    out.write("needle-0042 found\n");
+                StringBuilder sb = new StringBuilder();
+                for (int i = 0; i < 8; i++)
+                    sb.append(WORDS[random.nextInt(WORDS.length)]).append(' ');
+                sb.append(line).append('\n');
+                out.write(sb.toString());
+                written += sb.length();
+            }
+        }
+        literal = GrepEngine.literal("timeout error ok");
+        literalNoLines = literal.lineNumbers(false);
+        multi = GrepEngine.literal("timeout error ok", "debug debug debug", "request 12345");
+        regex = GrepEngine.regex("timeout error [0-9]+5$");
+        rare = GrepEngine.literal("needle-0042");
+        indexFile = Files.createTempFile("grep-bench", ".idx");
+        Files.delete(indexFile);
+        TrigramIndex index = TrigramIndex.open(indexFile);
+        index.update(file);
+        index.save();
+        rareIndexed = rare.index(index);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(file);
+        Files.deleteIfExists(indexFile);
+    }
+
+    @Benchmark
+    public long literal() throws IOException {
+        return count(literal);
+    }
+
+    @Benchmark
+    public long literalWithoutLineNumbers() throws IOException {
+        return count(literalNoLines);
+    }
+
+    @Benchmark
+    public long multiPattern() throws IOException {
+        return count(multi);
+    }
+
+    @Benchmark
+    public long regex() throws IOException {
+        return count(regex);
+    }
+
+    @Benchmark
+    public long rareLiteral() throws IOException {
+        return count(rare);
+    }
+
+    @Benchmark
+    public long rareLiteralIndexed() throws IOException {
+        return count(rareIndexed);
+    }
+
+    @Benchmark
+    public boolean buildIndex() throws IOException {
+        Path temp = Files.createTempFile("grep-bench", ".idx");
+        Files.delete(temp);
+        try {
+            return TrigramIndex.open(temp).update(file);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    private long count(GrepEngine engine) throws IOException {
+        try (Stream<Match> matches = engine.search(file)) {
+            return matches.count();
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package br.com.validation.benchmark;
+
+/**
+ * Gera as strings de entrada usadas pelos benchmarks.
+ *
+ * Cada tipo de entrada representa um perfil de dado real do
+ * pipeline: texto ASCII, texto Latin-1 com acentos, texto CJK,
+ * somente digitos e strings quase todas em branco.
+ */
+public final class Inputs {
+
+    private static final String ASCII = "abcdefghijklmnopqrstuvwxyzABCDEFGHIJKLMNOPQRSTUVWXYZ";
+
+    private static final String LATIN1 = "\u00e1\u00e9\u00ed\u00f3\u00fa\u00e3\u00f5\u00e7\u00c1\u00c9\u00cd\u00d3\u00da\u00c3\u00d5\u00c7";
+
+    private static final String CJK = "\u65e5\u672c\u8a9e\u4e2d\u6587\u6f22\u5b57\u6e2c\u8a66\u6587\u5b57";
+
+    private static final String DIGITS = "0123456789";
+
+    private Inputs() {
+
+    }
+
+    /**
+     * Monta uma string com o tamanho pedido a partir do tipo informado.
+     *
+     * @param kind     ASCII, LATIN1, CJK, DIGITS ou WHITESPACE
+     * @param length   o tamanho da string em chars
+     * @return a string gerada
+     */
+    public static String of(String kind, int length) {
+        if ("WHITESPACE".equals(kind)) {
+            return mostlyWhitespace(length);
+        }
+        String alphabet = alphabet(kind);
+        StringBuilder sb = new StringBuilder(length);
+        for (int i = 0; i < length; i++) {
+            sb.append(alphabet.charAt(i % alphabet.length()));
+        }
+        return sb.toString();
+    }
+
+    private static String alphabet(String kind) {
+        if ("ASCII".equals(kind)) {
+            return ASCII;
+        } else if ("LATIN1".equals(kind)) {
+            return LATIN1;
+        } else if ("CJK".equals(kind)) {
+            return CJK;
+        } else if ("DIGITS".equals(kind)) {
+            return DIGITS;
+        }
+        throw new IllegalArgumentException("Unknown input kind: " + kind);
+    }
+
+    /*
+     * Espacos, tabs e quebras de linha com um unico caractere visivel
+     * no inicio, para que isBlank percorra a string inteira antes de
+     * responder.
+     */
+    private static String mostlyWhitespace(int length) {
+        StringBuilder sb = new StringBuilder(length);
+        sb.append('x');
+        for (int i = 1; i < length; i++) {
+            char c;
+            switch (i % 7) {
+                case 3:
+                    c = '\t';
+                    break;
+                case 6:
+                    c = '\n';
+                    break;
+                default:
+                    c = ' ';
+            }
+            sb.append(c);
+        }
+        return sb.toString();
+    }
+}
@@ -0,0 +1,89 @@
+package br.com.validation.benchmark;
+
+import java.util.Date;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import br.com.validation.BatchResult;
+import br.com.validation.Intervals;
+import br.com.validation.Overlaps;
+import br.com.validation.Validations;
+
+/**
+ * Benchmarks de {@link Intervals} sobre 1M reservas de 1 a 7 dias num
+ * ano, espalhadas por 20 mil quartos; o tempo e por coluna.
+ *
+ * <code>dates</code> e a mesma verificacao de ordem feita par a par
+ * com {@link Validations#isDateEndGreatOrEqualDateInitial}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class IntervalsBenchmark {
+
+    private static final int ROWS = 1 << 20;
+
+    private long[] begin;
+
+    private long[] end;
+
+    private int[] room;
+
+    private Date[] beginDates;
+
+    private Date[] endDates;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        long day = 24L * 60 * 60 * 1000;
+        long first = 1704067200000L;
+        begin = new long[ROWS];
+        end = new long[ROWS];
+        room = new int[ROWS];
+        beginDates = new Date[ROWS];
+        endDates = new Date[ROWS];
+        for (int i = 0; i < ROWS; i++) {
+            begin[i] = first + random.nextInt(365) * day;
+            end[i] = begin[i] + (1 + random.nextInt(7)) * day;
+            room[i] = random.nextInt(20000);
+            beginDates[i] = new Date(begin[i]);
+            endDates[i] = new Date(end[i]);
+        }
+    }
+
+    @Benchmark
+    public BatchResult endNotBeforeBegin() {
+        return Intervals.endNotBeforeBegin(begin, end);
+    }
+
+    @Benchmark
+    public int dates() {
+        int failed = 0;
+        for (int i = 0; i < ROWS; i++) {
+            if (!Validations.isDateEndGreatOrEqualDateInitial(beginDates[i], endDates[i])) {
+                failed++;
+            }
+        }
+        return failed;
+    }
+
+    @Benchmark
+    public Overlaps overlaps() {
+        return Intervals.overlaps(begin, end, room);
+    }
+}
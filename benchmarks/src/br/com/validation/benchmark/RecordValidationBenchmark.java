@@ -0,0 +1,117 @@
+package br.com.validation.benchmark;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import br.com.validation.Validations;
+import br.com.validation.string.RecordReport;
+import br.com.validation.string.RecordSchema;
+import br.com.validation.string.RecordValidator;
+
+/**
+ * Benchmarks do {@link RecordValidator} sobre um CSV sintetico de
+ * clientes (nome, CEP, quantidade, data), comparado com a leitura
+ * linha por linha com {@link BufferedReader#readLine} e
+ * {@link String#split}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RecordValidationBenchmark {
+
+    @Param({"32"})
+    public int megabytes;
+
+    @Param({"1", "4"})
+    public int workers;
+
+    private Path file;
+
+    private RecordValidator validator;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        file = Files.createTempFile("record-bench", ".csv");
+        Random random = new Random(42);
+        long target = (long) megabytes << 20;
+        long written = 0;
+        try (BufferedWriter out = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            out.write("nome,cep,quantidade,data\n");
+            for (long line = 0; written < target; line++) {
+                String row = "Cliente " + line + "," + (10000000 + random.nextInt(90000000))
+                    + (random.nextInt(100) == 0 ? "x" : "") + "," + random.nextInt(1000)
+                    + "," + String.format("%02d/%02d/%04d", 1 + random.nextInt(31), 1 + random.nextInt(12), 1990 + random.nextInt(30))
+                    + "\n";
+                out.write(row);
+                written += row.length();
+            }
+        }
+        RecordSchema schema = RecordSchema.csv().header()
+            .column(1, Validations::isNotBlank)
+            .column(2, Validations::isNumeric)
+            .column(3, Validations::isNumeric)
+            .text(4, value -> Validations.isValidDate(value, "dd/MM/yyyy"))
+            .fields(4)
+            .build();
+        validator = RecordValidator.of(schema).workers(workers);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(file);
+    }
+
+    @Benchmark
+    public long recordValidator() throws IOException {
+        RecordReport report = validator.validate(file, reject -> { });
+        return report.getRejects();
+    }
+
+    @Benchmark
+    public long readLine() throws IOException {
+        long rejects = 0;
+        try (BufferedReader in = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            in.readLine();
+            String line;
+            while ((line = in.readLine()) != null) {
+                String[] fields = line.split(",", -1);
+                if (fields.length != 4) {
+                    rejects++;
+                    continue;
+                }
+                if (!Validations.isNotBlank(fields[0]))
+                    rejects++;
+                if (!Validations.isNumeric(fields[1]))
+                    rejects++;
+                if (!Validations.isNumeric(fields[2]))
+                    rejects++;
+                if (!Validations.isValidDate(fields[3], "dd/MM/yyyy"))
+                    rejects++;
+            }
+        }
+        return rejects;
+    }
+}
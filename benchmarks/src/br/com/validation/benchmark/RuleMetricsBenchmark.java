@@ -0,0 +1,72 @@
+package br.com.validation.benchmark;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import br.com.validation.RuleMetrics;
+import br.com.validation.Validations;
+
+/**
+ * Confere o custo de {@link RuleMetrics} sobre um predicado barato.
+ *
+ * <code>instrumented</code> roda sem a propriedade e tem que empatar com
+ * <code>plain</code>; <code>instrumentedEnabled</code> roda num fork com
+ * <code>-Dbr.com.validation.metrics=true</code> e mostra o custo dos
+ * contadores e da amostragem de tempo.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RuleMetricsBenchmark {
+
+    private String input;
+
+    private Predicate<String> plain;
+
+    private Predicate<String> instrumented;
+
+    @Setup
+    public void setUp() {
+        input = "12345678";
+        plain = Validations::isNumeric;
+        instrumented = RuleMetrics.instrument("isNumeric", plain);
+    }
+
+    @Benchmark
+    public boolean plain() {
+        return plain.test(input);
+    }
+
+    @Benchmark
+    public boolean instrumented() {
+        return instrumented.test(input);
+    }
+
+    @Benchmark
+    @Fork(value = 1, jvmArgsAppend = "-Dbr.com.validation.metrics=true")
+    public boolean instrumentedEnabled() {
+        return instrumented.test(input);
+    }
+
+    @Benchmark
+    @Threads(4)
+    @Fork(value = 1, jvmArgsAppend = "-Dbr.com.validation.metrics=true")
+    public boolean instrumentedEnabledContended() {
+        return instrumented.test(input);
+    }
+}
@@ -0,0 +1,145 @@
+package br.com.validation.benchmark;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import br.com.validation.Validations;
+import br.com.validation.Validator;
+
+/**
+ * Benchmarks dos predicados de string de {@link Validations}.
+ *
+ * Rodar com <code>gradle :benchmarks:jmh</code>; o profiler de GC
+ * ja vem ligado, entao a alocacao por chamada aparece em
+ * <code>gc.alloc.rate.norm</code>.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ValidationsBenchmark {
+
+    @Param({"ASCII", "LATIN1", "CJK", "DIGITS", "WHITESPACE"})
+    public String kind;
+
+    @Param({"8", "64", "1024"})
+    public int length;
+
+    private String input;
+
+    private StringBuilder builder;
+
+    private int max;
+
+    private Validator validator;
+
+    private byte[] utf8;
+
+    private ByteBuffer direct;
+
+    @Setup
+    public void setUp() {
+        input = Inputs.of(kind, length);
+        builder = new StringBuilder(input);
+        utf8 = input.getBytes(StandardCharsets.UTF_8);
+        direct = ByteBuffer.allocateDirect(utf8.length);
+        direct.put(utf8).flip();
+        max = length;
+        validator = Validator.builder()
+            .notBlank()
+            .boundedLength(1, max)
+            .alphanumericSpace()
+            .build();
+    }
+
+    @Benchmark
+    public boolean isBlank() {
+        return Validations.isBlank(input);
+    }
+
+    @Benchmark
+    public boolean hasBoundedLength() {
+        return Validations.hasBoundedLength(input, 1, max);
+    }
+
+    @Benchmark
+    public boolean isOnlyLetters() {
+        return Validations.isOnlyLetters(input);
+    }
+
+    @Benchmark
+    public boolean isOnlyLettersBuilder() {
+        return Validations.isOnlyLetters(builder);
+    }
+
+    @Benchmark
+    public boolean isAlphanumericSpace() {
+        return Validations.isAlphanumericSpace(input);
+    }
+
+    @Benchmark
+    public boolean isNumeric() {
+        return Validations.isNumeric(input);
+    }
+
+    /*
+     * A cadeia tipica de um campo, predicado a predicado e compilada.
+     */
+
+    @Benchmark
+    public boolean chain() {
+        return Validations.isNotBlank(input)
+            && Validations.hasBoundedLength(input, 1, max)
+            && Validations.isAlphanumericSpace(input);
+    }
+
+    @Benchmark
+    public int validator() {
+        return validator.validate(input);
+    }
+
+    /*
+     * Texto que chega em UTF-8: decodificar para chamar o predicado,
+     * ou validar direto nos bytes.
+     */
+
+    @Benchmark
+    public boolean isNumericDecoded() {
+        return Validations.isNumeric(new String(utf8, StandardCharsets.UTF_8));
+    }
+
+    @Benchmark
+    public boolean isNumericUtf8() {
+        return Validations.isNumeric(utf8, 0, utf8.length);
+    }
+
+    @Benchmark
+    public boolean isNumericDirect() {
+        return Validations.isNumeric(direct);
+    }
+
+    @Benchmark
+    public boolean hasBoundedLengthDecoded() {
+        return Validations.hasBoundedLength(new String(utf8, StandardCharsets.UTF_8), 1, max);
+    }
+
+    @Benchmark
+    public boolean hasBoundedLengthUtf8() {
+        return Validations.hasBoundedLength(utf8, 0, utf8.length, 1, max);
+    }
+}
@@ -0,0 +1,130 @@
+package br.com.validation;
+
+import java.util.BitSet;
+
+/**
+ * O resultado de {@link BatchValidator}: as linhas que falharam e
+ * quanto tempo a validacao levou, para ajustar o tamanho dos lotes.
+ */
+public final class BatchResult {
+
+    private final long[] words;
+    private final int rows;
+    private final long nanos;
+    private final int batches;
+
+
+    BatchResult(long[] words, int rows, long nanos, int batches) {
+        this.words = words;
+        this.rows = rows;
+        this.nanos = nanos;
+        this.batches = batches;
+    }
+
+
+    /**
+     * @return o mapa das linhas que falharam, 64 por palavra: a linha
+     *     <em>i</em> e o bit <code>i % 64</code> da palavra
+     *     <code>i / 64</code>. E o proprio array do resultado, nao uma
+     *     copia.
+     */
+    public long[] words() {
+        return words;
+    }
+
+
+    /**
+     * @return uma copia do mapa como <code>BitSet</code>
+     */
+    public BitSet failures() {
+        return BitSet.valueOf(words);
+    }
+
+
+    /**
+     * @return se a linha falhou
+     */
+    public boolean failed(int row) {
+        if (row < 0 || row >= rows) {
+            throw new IndexOutOfBoundsException("row " + row + " of " + rows);
+        }
+        return (words[row >>> 6] & (1L << row)) != 0;
+    }
+
+
+    /**
+     * @return a primeira linha a partir de <code>from</code> que falhou,
+     *     ou -1
+     */
+    public int nextFailure(int from) {
+        if (from < 0) {
+            from = 0;
+        }
+        int word = from >>> 6;
+        if (word >= words.length) {
+            return -1;
+        }
+        long bits = words[word] & (-1L << from);
+        while (true) {
+            if (bits != 0) {
+                return (word << 6) + Long.numberOfTrailingZeros(bits);
+            }
+            if (++word == words.length) {
+                return -1;
+            }
+            bits = words[word];
+        }
+    }
+
+
+    /**
+     * @return quantas linhas falharam
+     */
+    public int failureCount() {
+        int count = 0;
+        for (long word : words) {
+            count += Long.bitCount(word);
+        }
+        return count;
+    }
+
+
+    /**
+     * @return quantas linhas foram validadas
+     */
+    public int rows() {
+        return rows;
+    }
+
+
+    /**
+     * @return em quantos lotes a coluna foi dividida; 1 se a validacao
+     *     nao foi paralela
+     */
+    public int batches() {
+        return batches;
+    }
+
+
+    /**
+     * @return o tempo da validacao, em nanossegundos
+     */
+    public long elapsedNanos() {
+        return nanos;
+    }
+
+
+    /**
+     * @return linhas validadas por segundo
+     */
+    public double rowsPerSecond() {
+        return nanos == 0 ? 0 : rows * 1e9 / nanos;
+    }
+
+
+    @Override
+    public String toString() {
+        return rows + " rows, " + failureCount() + " failed, " + batches + " batches, "
+            + String.format("%.1f", rowsPerSecond() / 1e6) + " M rows/s";
+    }
+}
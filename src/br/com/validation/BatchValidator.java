@@ -0,0 +1,191 @@
+package br.com.validation;
+
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.IntFunction;
+import java.util.function.Predicate;
+
+/**
+ * Valida uma coluna inteira de valores com um predicado, devolvendo
+ * as linhas que falharam como um mapa de bits.
+ *
+ * <pre>
+ * BatchValidator&lt;String&gt; cep = BatchValidator.of(Validations::isNumeric);
+ * BatchResult result = cep.validate(ceps);
+ * for (int row = result.nextFailure(0); row &gt;= 0; row = result.nextFailure(row + 1)) {
+ *     ...
+ * }
+ * </pre>
+ *
+ * O predicado pode ser qualquer um de {@link Validations} ou um
+ * {@link Validator} compilado (<code>validator::isValid</code>). O bit
+ * <em>i</em> do resultado fica ligado se a linha <em>i</em> falhou.
+ *
+ * A partir de {@link #parallelThreshold(int)} linhas, a coluna e
+ * dividida em lotes de {@link #batchSize(int)} linhas, validados num
+ * <code>ForkJoinPool</code>. Os lotes comecam em multiplos de 64, entao
+ * cada um escreve so as suas palavras do mapa, sem sincronizacao. O
+ * predicado tem que poder ser chamado por varias threads ao mesmo
+ * tempo, como os de {@link Validations}.
+ *
+ * Uma instancia e imutavel e pode ser usada por varias threads.
+ */
+public final class BatchValidator<T> {
+
+    /** Linhas a partir das quais a validacao e paralela, por padrao. */
+    public static final int DEFAULT_PARALLEL_THRESHOLD = 1 << 16;
+
+    /** Linhas por lote paralelo, por padrao. */
+    public static final int DEFAULT_BATCH_SIZE = 1 << 13;
+
+    private final Predicate<? super T> rule;
+    private final int threshold;
+    private final int batchSize;
+    private final ForkJoinPool pool;
+
+
+    private BatchValidator(Predicate<? super T> rule, int threshold, int batchSize, ForkJoinPool pool) {
+        this.rule = rule;
+        this.threshold = threshold;
+        this.batchSize = batchSize;
+        this.pool = pool;
+    }
+
+
+    /**
+     * @param rule   o predicado; um valor e valido se ele devolver
+     *     <code>true</code>
+     * @return um validador de colunas com as opcoes padrao
+     */
+    public static <T> BatchValidator<T> of(Predicate<? super T> rule) {
+        if (rule == null) {
+            throw new NullPointerException("rule");
+        }
+        return new BatchValidator<T>(rule, DEFAULT_PARALLEL_THRESHOLD, DEFAULT_BATCH_SIZE, ForkJoinPool.commonPool());
+    }
+
+
+    /**
+     * @param rows   a partir de quantas linhas dividir o trabalho;
+     *     <code>Integer.MAX_VALUE</code> desliga o paralelismo
+     */
+    public BatchValidator<T> parallelThreshold(int rows) {
+        if (rows < 1) {
+            throw new IllegalArgumentException("The threshold must be positive.");
+        }
+        return new BatchValidator<T>(rule, rows, batchSize, pool);
+    }
+
+
+    /**
+     * @param rows   linhas por lote paralelo, arredondadas para cima
+     *     ate um multiplo de 64
+     */
+    public BatchValidator<T> batchSize(int rows) {
+        if (rows < 1) {
+            throw new IllegalArgumentException("The batch size must be positive.");
+        }
+        int rounded = (int) Math.min((rows + 63L) & ~63L, Integer.MAX_VALUE & ~63);
+        return new BatchValidator<T>(rule, threshold, rounded, pool);
+    }
+
+
+    /**
+     * @param pool   o pool dos lotes paralelos; o padrao e o
+     *     <code>commonPool</code>
+     */
+    public BatchValidator<T> pool(ForkJoinPool pool) {
+        if (pool == null) {
+            throw new NullPointerException("pool");
+        }
+        return new BatchValidator<T>(rule, threshold, batchSize, pool);
+    }
+
+
+    public BatchResult validate(T[] column) {
+        return validate(i -> column[i], column.length);
+    }
+
+
+    /**
+     * A lista deve ter acesso aleatorio rapido, como
+     * <code>ArrayList</code>.
+     */
+    public BatchResult validate(List<? extends T> column) {
+        return validate(column::get, column.size());
+    }
+
+
+    /**
+     * Valida uma coluna que nao esta num array nem numa lista.
+     *
+     * @param column   devolve o valor de cada linha; pode ser chamado
+     *     por varias threads
+     * @param rows     quantas linhas a coluna tem
+     */
+    public BatchResult validate(IntFunction<? extends T> column, int rows) {
+        if (rows < 0) {
+            throw new IllegalArgumentException("rows < 0");
+        }
+        long[] words = new long[(rows + 63) >>> 6];
+        long start = System.nanoTime();
+        int batches;
+        if (rows < threshold || rows <= batchSize) {
+            scan(column, 0, rows, words);
+            batches = 1;
+        } else {
+            pool.invoke(new Batch(column, 0, rows, words));
+            batches = (int) ((rows + (long) batchSize - 1) / batchSize);
+        }
+        return new BatchResult(words, rows, System.nanoTime() - start, batches);
+    }
+
+
+    /*
+     * Valida [from, to). from e multiplo de 64, entao cada palavra do
+     * mapa e escrita inteira por um lote so.
+     */
+    private void scan(IntFunction<? extends T> column, int from, int to, long[] words) {
+        for (int word = from >>> 6; from < to; word++) {
+            int end = Math.min(from + 64, to);
+            long bits = 0;
+            for (int row = from; row < end; row++) {
+                if (!rule.test(column.apply(row))) {
+                    bits |= 1L << row;
+                }
+            }
+            words[word] = bits;
+            from = end;
+        }
+    }
+
+
+    private final class Batch extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final IntFunction<? extends T> column;
+        private final int from;
+        private final int to;
+        private final long[] words;
+
+        Batch(IntFunction<? extends T> column, int from, int to, long[] words) {
+            this.column = column;
+            this.from = from;
+            this.to = to;
+            this.words = words;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= batchSize) {
+                scan(column, from, to, words);
+                return;
+            }
+            // corta num lote inteiro, que e multiplo de 64
+            int batches = (int) ((to - from + (long) batchSize - 1) / batchSize);
+            int middle = from + batches / 2 * batchSize;
+            invokeAll(new Batch(column, from, middle, words), new Batch(column, middle, to, words));
+        }
+    }
+}
@@ -0,0 +1,383 @@
+package br.com.validation;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Predicate;
+import java.util.function.ToIntFunction;
+
+/**
+ * Um predicado que guarda o resultado de outro para os valores ja vistos,
+ * num cache limitado.
+ *
+ * Vale para predicados caros sobre colunas repetitivas, como datas e
+ * codigos de categoria:
+ *
+ * <pre>
+ * CachedRule&lt;String&gt; date = CachedRule.builder((String s) -&gt; Validations.isValidDate(s, "dd/MM/yyyy"))
+ *     .maximumSize(10000)
+ *     .build();
+ * BatchResult result = BatchValidator.of(date).validate(dates);
+ * </pre>
+ *
+ * O cache e dividido em faixas, cada uma com a sua trava e a sua ordem
+ * de acesso; quando uma faixa passa do limite, os valores usados ha mais
+ * tempo saem (LRU). O predicado e chamado fora da trava, entao duas
+ * threads podem calcular o mesmo valor ao mesmo tempo: ele tem que ser
+ * deterministico e thread-safe, como os de {@link Validations}.
+ *
+ * Os valores viram chaves de um mapa e precisam de <code>equals</code> e
+ * <code>hashCode</code> estaveis. O valor <code>null</code> nao e
+ * guardado.
+ */
+public final class CachedRule<T> implements Predicate<T> {
+
+    private final Predicate<? super T> rule;
+    private final ToIntFunction<? super T> weigher;
+    private final Stripe<T>[] stripes;
+    private final int mask;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+
+    private CachedRule(Builder<T> builder, int count) {
+        this.rule = builder.rule;
+        this.weigher = builder.weigher;
+        @SuppressWarnings({"unchecked", "rawtypes"})
+        Stripe<T>[] stripes = new Stripe[count];
+        this.stripes = stripes;
+        this.mask = count - 1;
+        long size = divide(builder.maximumSize, count);
+        long weight = divide(builder.maximumWeight, count);
+        for (int i = 0; i < count; i++) {
+            stripes[i] = new Stripe<T>(size, weight);
+        }
+    }
+
+
+    /**
+     * @param rule   o predicado a guardar
+     * @return um builder com limite de {@link Builder#DEFAULT_MAXIMUM_SIZE}
+     *     valores
+     */
+    public static <T> Builder<T> builder(Predicate<? super T> rule) {
+        if (rule == null) {
+            throw new NullPointerException("rule");
+        }
+        return new Builder<T>(rule);
+    }
+
+
+    /**
+     * @return o resultado guardado para o valor ou, na primeira vez, o do
+     *     predicado
+     */
+    @Override
+    public boolean test(T value) {
+        if (value == null) {
+            return rule.test(null);
+        }
+        Stripe<T> stripe = stripes[spread(value.hashCode()) & mask];
+        Boolean cached;
+        stripe.lock.lock();
+        try {
+            cached = stripe.get(value);
+        } finally {
+            stripe.lock.unlock();
+        }
+        if (cached != null) {
+            hits.increment();
+            return cached.booleanValue();
+        }
+        misses.increment();
+        boolean result = rule.test(value);
+        int weight = weigher == null ? 1 : weigher.applyAsInt(value);
+        if (weight < 0) {
+            throw new IllegalStateException("The weight must not be negative.");
+        }
+        stripe.lock.lock();
+        try {
+            evictions.add(stripe.add(value, result, weight));
+        } finally {
+            stripe.lock.unlock();
+        }
+        return result;
+    }
+
+
+    /**
+     * @return quantos valores estao guardados agora
+     */
+    public long size() {
+        long size = 0;
+        for (Stripe<T> stripe : stripes) {
+            stripe.lock.lock();
+            try {
+                size += stripe.size();
+            } finally {
+                stripe.lock.unlock();
+            }
+        }
+        return size;
+    }
+
+
+    /**
+     * @return a soma dos pesos guardados agora
+     */
+    public long weight() {
+        long weight = 0;
+        for (Stripe<T> stripe : stripes) {
+            stripe.lock.lock();
+            try {
+                weight += stripe.weight;
+            } finally {
+                stripe.lock.unlock();
+            }
+        }
+        return weight;
+    }
+
+
+    /**
+     * Esvazia o cache. As estatisticas continuam.
+     */
+    public void clear() {
+        for (Stripe<T> stripe : stripes) {
+            stripe.lock.lock();
+            try {
+                stripe.clear();
+                stripe.weight = 0;
+            } finally {
+                stripe.lock.unlock();
+            }
+        }
+    }
+
+
+    /**
+     * @return as estatisticas acumuladas desde a criacao
+     */
+    public Stats stats() {
+        return new Stats(hits.sum(), misses.sum(), evictions.sum(), size());
+    }
+
+
+    @Override
+    public String toString() {
+        return "CachedRule" + stats();
+    }
+
+
+    private static long divide(long total, int parts) {
+        return total / parts + (total % parts == 0 ? 0 : 1);
+    }
+
+
+    private static int spread(int h) {
+        h ^= h >>> 16;
+        return h * 0x45d9f3b;
+    }
+
+
+    /*
+     * Uma faixa: um LinkedHashMap em ordem de acesso, protegido pela
+     * propria trava. Os pesos ficam num mapa paralelo so quando ha um
+     * weigher; sem ele cada valor pesa 1 e o peso e o tamanho.
+     */
+    @SuppressWarnings("serial")
+    private static final class Stripe<T> extends LinkedHashMap<T, Boolean> {
+
+        final ReentrantLock lock = new ReentrantLock();
+        final long maximumSize;
+        final long maximumWeight;
+        final Map<T, Integer> weights = new HashMap<T, Integer>();
+        long weight;
+
+
+        Stripe(long maximumSize, long maximumWeight) {
+            super(16, 0.75f, true);
+            this.maximumSize = maximumSize;
+            this.maximumWeight = maximumWeight;
+        }
+
+
+        /**
+         * @return quantos valores sairam para caber este
+         */
+        int add(T value, boolean result, int valueWeight) {
+            if (valueWeight > maximumWeight) {
+                return 0;
+            }
+            if (put(value, Boolean.valueOf(result)) != null) {
+                return 0;
+            }
+            if (valueWeight != 1) {
+                weights.put(value, Integer.valueOf(valueWeight));
+            }
+            weight += valueWeight;
+            int evicted = 0;
+            Iterator<T> eldest = keySet().iterator();
+            while (size() > maximumSize || weight > maximumWeight) {
+                T key = eldest.next();
+                eldest.remove();
+                Integer w = weights.remove(key);
+                weight -= w == null ? 1 : w.intValue();
+                evicted++;
+            }
+            return evicted;
+        }
+
+
+        @Override
+        public void clear() {
+            super.clear();
+            weights.clear();
+        }
+    }
+
+
+    /**
+     * As contagens de um {@link CachedRule}.
+     */
+    public static final class Stats {
+
+        private final long hits;
+        private final long misses;
+        private final long evictions;
+        private final long size;
+
+
+        Stats(long hits, long misses, long evictions, long size) {
+            this.hits = hits;
+            this.misses = misses;
+            this.evictions = evictions;
+            this.size = size;
+        }
+
+
+        public long hitCount() {
+            return hits;
+        }
+
+
+        public long missCount() {
+            return misses;
+        }
+
+
+        public long evictionCount() {
+            return evictions;
+        }
+
+
+        public long size() {
+            return size;
+        }
+
+
+        /**
+         * @return a fracao das chamadas respondidas pelo cache, ou 0 se
+         *     nao houve nenhuma
+         */
+        public double hitRate() {
+            long total = hits + misses;
+            return total == 0 ? 0 : (double) hits / total;
+        }
+
+
+        @Override
+        public String toString() {
+            return "[hits=" + hits + ", misses=" + misses + ", evictions=" + evictions + ", size=" + size + "]";
+        }
+    }
+
+
+    public static final class Builder<T> {
+
+        /** Limite padrao de valores guardados. */
+        public static final long DEFAULT_MAXIMUM_SIZE = 10000;
+
+        private final Predicate<? super T> rule;
+        private long maximumSize = DEFAULT_MAXIMUM_SIZE;
+        private long maximumWeight = Long.MAX_VALUE;
+        private ToIntFunction<? super T> weigher;
+        private int stripes = defaultStripes();
+
+
+        private Builder(Predicate<? super T> rule) {
+            this.rule = rule;
+        }
+
+
+        /**
+         * @param size   quantos valores guardar, no maximo
+         */
+        public Builder<T> maximumSize(long size) {
+            if (size < 1) {
+                throw new IllegalArgumentException("The maximum size must be positive.");
+            }
+            this.maximumSize = size;
+            return this;
+        }
+
+
+        /**
+         * Limita o cache pela soma dos pesos dos valores, por exemplo o
+         * tamanho das strings. Um valor mais pesado que uma faixa inteira
+         * nunca e guardado.
+         *
+         * @param weight    a soma maxima
+         * @param weigher   o peso de cada valor, nao negativo
+         */
+        public Builder<T> maximumWeight(long weight, ToIntFunction<? super T> weigher) {
+            if (weight < 1) {
+                throw new IllegalArgumentException("The maximum weight must be positive.");
+            }
+            if (weigher == null) {
+                throw new NullPointerException("weigher");
+            }
+            this.maximumWeight = weight;
+            this.weigher = weigher;
+            return this;
+        }
+
+
+        /**
+         * @param stripes   em quantas faixas dividir o cache; arredondado
+         *     para uma potencia de 2. O padrao e 4 por processador.
+         */
+        public Builder<T> concurrencyLevel(int stripes) {
+            if (stripes < 1) {
+                throw new IllegalArgumentException("The concurrency level must be positive.");
+            }
+            this.stripes = powerOfTwo(stripes);
+            return this;
+        }
+
+
+        public CachedRule<T> build() {
+            // faixas pequenas demais despejam valores quentes so por
+            // azar do hash
+            int count = stripes;
+            while (count > 1 && maximumSize / count < 64) {
+                count >>>= 1;
+            }
+            return new CachedRule<T>(this, count);
+        }
+
+
+        private static int defaultStripes() {
+            return powerOfTwo(Runtime.getRuntime().availableProcessors() * 4);
+        }
+
+
+        private static int powerOfTwo(int n) {
+            return n <= 1 ? 1 : Math.min(1 << 16, Integer.highestOneBit(n - 1) << 1);
+        }
+    }
+}
@@ -0,0 +1,167 @@
+package br.com.validation;
+
+/**
+ * Classes de caracteres usadas pelos predicados de {@link Validations}.
+ *
+ * Para os caracteres ate U+00FF, que sao quase toda a entrada, a classe
+ * vem de uma tabela calculada uma vez com os proprios metodos de
+ * {@link Character}, entao o resultado e o mesmo do caminho Unicode.
+ * So quando aparece um caractere acima disso a verificacao passa para
+ * {@link Character}, por code point, e os pares de surrogates contam
+ * como um caractere so.
+ */
+final class CharClasses {
+
+    /** Letra Unicode. */
+    static final int LETTER = 1;
+
+    /** Digito Unicode. */
+    static final int DIGIT = 2;
+
+    /** O espaco ' '. */
+    static final int SPACE = 4;
+
+    /** Espaco em branco, segundo {@link Character#isWhitespace(int)}. */
+    static final int WHITESPACE = 8;
+
+    /* Os tipos que Character.isLetter aceita. */
+    private static final int LETTER_TYPES =
+          (1 << Character.UPPERCASE_LETTER)
+        | (1 << Character.LOWERCASE_LETTER)
+        | (1 << Character.TITLECASE_LETTER)
+        | (1 << Character.MODIFIER_LETTER)
+        | (1 << Character.OTHER_LETTER);
+
+    private static final byte[] TABLE = new byte[256];
+
+    /* 1 << TABLE[c], para patterns nao ter que deslocar a cada caractere. */
+    private static final int[] PATTERN = new int[256];
+
+    static {
+        for (int c = 0; c < TABLE.length; c++) {
+            int bits = 0;
+            if (Character.isLetter(c)) {
+                bits |= LETTER;
+            }
+            if (Character.isDigit(c)) {
+                bits |= DIGIT;
+            }
+            if (c == ' ') {
+                bits |= SPACE;
+            }
+            if (Character.isWhitespace(c)) {
+                bits |= WHITESPACE;
+            }
+            TABLE[c] = (byte) bits;
+            PATTERN[c] = 1 << bits;
+        }
+    }
+
+
+    private CharClasses() {
+
+    }
+
+
+    /**
+     * @param str      a sequencia, nao <code>null</code>
+     * @param accept   as classes aceitas, como <code>LETTER | SPACE</code>
+     * @return se todos os caracteres sao de alguma das classes
+     */
+    static boolean matches(CharSequence str, int accept) {
+        int length = str.length();
+        for (int i = 0; i < length; i++) {
+            char c = str.charAt(i);
+            if (c > 0xFF) {
+                return matchesCodePoints(str, i, accept);
+            }
+            if ((TABLE[c] & accept) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+
+    /**
+     * Cada caractere tem uma combinacao dos bits de classe, de 0 a 15.
+     *
+     * @param str   a sequencia, nao <code>null</code>
+     * @return as combinacoes que aparecem na sequencia: o bit
+     *     <em>p</em> esta ligado se algum caractere tem exatamente
+     *     as classes <em>p</em>
+     */
+    static int patterns(CharSequence str) {
+        int seen = 0;
+        int length = str.length();
+        for (int i = 0; i < length; i++) {
+            char c = str.charAt(i);
+            if (c > 0xFF) {
+                return seen | patternsOfCodePoints(str, i);
+            }
+            seen |= PATTERN[c];
+        }
+        return seen;
+    }
+
+
+    private static int patternsOfCodePoints(CharSequence str, int from) {
+        int seen = 0;
+        int length = str.length();
+        int i = from;
+        while (i < length) {
+            int codePoint = Character.codePointAt(str, i);
+            seen |= 1 << classOf(codePoint);
+            i += Character.charCount(codePoint);
+        }
+        return seen;
+    }
+
+
+    /**
+     * @return se o code point e de alguma das classes aceitas
+     */
+    static boolean accepts(int codePoint, int accept) {
+        if (codePoint <= 0xFF) {
+            return (TABLE[codePoint] & accept) != 0;
+        }
+        // uma consulta so, no lugar de isLetter e isDigit
+        int type = Character.getType(codePoint);
+        if (type == Character.DECIMAL_DIGIT_NUMBER) {
+            return (accept & DIGIT) != 0;
+        }
+        return (accept & LETTER) != 0 && ((LETTER_TYPES >> type) & 1) != 0;
+    }
+
+
+    /**
+     * @return as classes do code point, combinadas em bits
+     */
+    static int classOf(int codePoint) {
+        if (codePoint <= 0xFF) {
+            return TABLE[codePoint];
+        }
+        int type = Character.getType(codePoint);
+        if (type == Character.DECIMAL_DIGIT_NUMBER) {
+            return DIGIT;
+        }
+        if (((LETTER_TYPES >> type) & 1) != 0) {
+            return LETTER;
+        }
+        return Character.isWhitespace(codePoint) ? WHITESPACE : 0;
+    }
+
+
+    private static boolean matchesCodePoints(CharSequence str, int from, int accept) {
+        int length = str.length();
+        int i = from;
+        while (i < length) {
+            int codePoint = Character.codePointAt(str, i);
+            if (!accepts(codePoint, accept)) {
+                return false;
+            }
+            i += Character.charCount(codePoint);
+        }
+        return true;
+    }
+}
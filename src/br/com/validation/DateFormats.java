@@ -0,0 +1,349 @@
+package br.com.validation;
+
+import java.text.ParsePosition;
+import java.time.DateTimeException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.chrono.Chronology;
+import java.time.chrono.IsoChronology;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeFormatterBuilder;
+import java.time.format.ResolverStyle;
+import java.time.temporal.ChronoField;
+import java.time.temporal.TemporalAccessor;
+import java.time.temporal.TemporalQueries;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Formatos de data compartilhados e leitura de datas sem excecoes.
+ *
+ * Os <code>DateTimeFormatter</code> sao imutaveis e thread-safe, entao
+ * cada mascara e compilada uma vez e reaproveitada por todas as
+ * threads. Ao contrario do <code>SimpleDateFormat</code>, a leitura e
+ * estrita ("31/02/2007" nao e uma data) e o texto inteiro tem que
+ * seguir a mascara.
+ *
+ * As mascaras mais comuns, {@link #DAY_MONTH_YEAR} e {@link #ISO_DATE},
+ * tem leitores escritos a mao que validam os digitos e devolvem o dia
+ * desde a epoca sem criar nenhum objeto.
+ *
+ * @see Validations#isValidDate(String, String)
+ */
+public final class DateFormats {
+
+    /** A mascara dd/MM/yyyy. */
+    public static final String DAY_MONTH_YEAR = "dd/MM/yyyy";
+
+    /** A mascara ISO yyyy-MM-dd. */
+    public static final String ISO_DATE = "yyyy-MM-dd";
+
+    /** Devolvido pelos leitores de layout fixo quando a data e invalida. */
+    public static final long INVALID = Long.MIN_VALUE;
+
+    private static final ConcurrentHashMap<String, DateTimeFormatter> CACHE =
+        new ConcurrentHashMap<String, DateTimeFormatter>();
+
+    /* values() devolve uma copia a cada chamada */
+    private static final ChronoField[] FIELDS = ChronoField.values();
+
+
+    private DateFormats() {
+
+    }
+
+
+    /**
+     * Devolve o formatter estrito da mascara, compilando-o na primeira
+     * vez. A mascara segue <code>DateTimeFormatter</code>; "yyyy" e lido
+     * como ano da era crista, como no <code>SimpleDateFormat</code>.
+     *
+     * @param pattern   a mascara, como "dd/MM/yyyy"
+     * @return o formatter, compartilhado entre as threads
+     * @throws IllegalArgumentException se a mascara for invalida
+     */
+    public static DateTimeFormatter of(String pattern) {
+        DateTimeFormatter formatter = CACHE.get(pattern);
+        if (formatter == null) {
+            formatter = CACHE.computeIfAbsent(pattern, DateFormats::compile);
+        }
+        return formatter;
+    }
+
+
+    private static DateTimeFormatter compile(String pattern) {
+        return new DateTimeFormatterBuilder()
+            .appendPattern(pattern)
+            .parseDefaulting(ChronoField.ERA, 1)
+            .toFormatter()
+            .withResolverStyle(ResolverStyle.STRICT);
+    }
+
+
+    /**
+     * Le o texto inteiro com o formatter. Os erros de layout sao
+     * detectados com <code>ParsePosition</code> e os campos fora de
+     * faixa antes da resolucao, entao uma data invalida nao lanca nem
+     * captura excecao. Datas so com dia, mes, ano e hora sao resolvidas
+     * direto dos campos lidos; as demais o formatter resolve.
+     *
+     * @param text        o texto a ser lido
+     * @param formatter   o formatter
+     * @return a data lida, ou <code>null</code> se o texto nao for
+     *     uma data valida no formato
+     */
+    public static TemporalAccessor parse(CharSequence text, DateTimeFormatter formatter) {
+        if (text == null) {
+            return null;
+        }
+        ParsePosition position = new ParsePosition(0);
+        TemporalAccessor fields = formatter.parseUnresolved(text, position);
+        if (fields == null || position.getErrorIndex() >= 0 || position.getIndex() != text.length()) {
+            return null;
+        }
+        if (!inRange(fields)) {
+            return null;
+        }
+        TemporalAccessor resolved = resolve(fields, formatter);
+        if (resolved != null) {
+            return resolved;
+        }
+        try {
+            // o formatter le o texto de novo para resolver os demais
+            // campos; so falha em combinacoes raras, como dia da semana
+            // errado
+            return formatter.parse(text);
+        } catch (DateTimeException e) {
+            return null;
+        }
+    }
+
+
+    /*
+     * Confere a faixa de cada campo lido e o dia contra o tamanho
+     * do mes, que sao os erros comuns na resolucao estrita.
+     */
+    private static boolean inRange(TemporalAccessor fields) {
+        for (ChronoField field : FIELDS) {
+            if (fields.isSupported(field) && !field.range().isValidValue(fields.getLong(field))) {
+                return false;
+            }
+        }
+        if (fields.isSupported(ChronoField.DAY_OF_MONTH) && fields.isSupported(ChronoField.MONTH_OF_YEAR)) {
+            long year;
+            if (fields.isSupported(ChronoField.YEAR)) {
+                year = fields.getLong(ChronoField.YEAR);
+            } else if (fields.isSupported(ChronoField.YEAR_OF_ERA)) {
+                year = fields.getLong(ChronoField.YEAR_OF_ERA);
+                if (fields.isSupported(ChronoField.ERA) && fields.getLong(ChronoField.ERA) == 0) {
+                    year = 1 - year;
+                }
+            } else {
+                // sem ano, 29/02 pode existir
+                year = 2000;
+            }
+            int month = (int) fields.getLong(ChronoField.MONTH_OF_YEAR);
+            return fields.getLong(ChronoField.DAY_OF_MONTH) <= lengthOfMonth(year, month);
+        }
+        return true;
+    }
+
+
+    /*
+     * Resolve os campos ja conferidos por inRange sem ler o texto de
+     * novo, quando sao so dia, mes e ano e/ou hora, minuto, segundo e
+     * fracao. Para qualquer outro campo, fuso ou calendario devolve
+     * null.
+     */
+    private static TemporalAccessor resolve(TemporalAccessor fields, DateTimeFormatter formatter) {
+        if (formatter.getZone() != null || fields.query(TemporalQueries.zoneId()) != null
+                || !isIso(formatter.getChronology()) || !isIso(fields.query(TemporalQueries.chronology()))) {
+            return null;
+        }
+        // a era vem sempre, nem que seja pelo parseDefaulting
+        int known = fields.isSupported(ChronoField.ERA) ? 1 : 0;
+        LocalDate date = null;
+        if (fields.isSupported(ChronoField.DAY_OF_MONTH) && fields.isSupported(ChronoField.MONTH_OF_YEAR)) {
+            long year;
+            if (fields.isSupported(ChronoField.YEAR)) {
+                year = fields.getLong(ChronoField.YEAR);
+                if (fields.isSupported(ChronoField.ERA) && fields.getLong(ChronoField.ERA) != (year >= 1 ? 1 : 0)) {
+                    // a era nao bate com o ano: o formatter recusa
+                    return null;
+                }
+            } else if (fields.isSupported(ChronoField.YEAR_OF_ERA) && fields.isSupported(ChronoField.ERA)) {
+                year = fields.getLong(ChronoField.YEAR_OF_ERA);
+                if (fields.getLong(ChronoField.ERA) == 0) {
+                    year = 1 - year;
+                }
+            } else {
+                return null;
+            }
+            date = LocalDate.of((int) year, (int) fields.getLong(ChronoField.MONTH_OF_YEAR),
+                (int) fields.getLong(ChronoField.DAY_OF_MONTH));
+            known += 3;
+        }
+        LocalTime time = null;
+        if (fields.isSupported(ChronoField.HOUR_OF_DAY)) {
+            int minute = 0;
+            int second = 0;
+            int nano = 0;
+            known++;
+            if (fields.isSupported(ChronoField.MINUTE_OF_HOUR)) {
+                minute = (int) fields.getLong(ChronoField.MINUTE_OF_HOUR);
+                known++;
+                if (fields.isSupported(ChronoField.SECOND_OF_MINUTE)) {
+                    second = (int) fields.getLong(ChronoField.SECOND_OF_MINUTE);
+                    known++;
+                    if (fields.isSupported(ChronoField.NANO_OF_SECOND)) {
+                        nano = (int) fields.getLong(ChronoField.NANO_OF_SECOND);
+                        known++;
+                    }
+                }
+            }
+            time = LocalTime.of((int) fields.getLong(ChronoField.HOUR_OF_DAY), minute, second, nano);
+        }
+        int supported = 0;
+        for (ChronoField field : FIELDS) {
+            if (fields.isSupported(field)) {
+                supported++;
+            }
+        }
+        if (supported != known || (date == null && time == null)) {
+            return null;
+        }
+        if (time == null) {
+            return date;
+        }
+        return date == null ? time : LocalDateTime.of(date, time);
+    }
+
+
+    private static boolean isIso(Chronology chronology) {
+        return chronology == null || chronology == IsoChronology.INSTANCE;
+    }
+
+
+    /**
+     * Compara duas datas lidas por {@link #parse}: primeiro pelo dia,
+     * depois pela hora, quando o formato tem os dois.
+     *
+     * @return negativo, zero ou positivo, como <code>compareTo</code>
+     */
+    public static int compare(TemporalAccessor a, TemporalAccessor b) {
+        if (a.isSupported(ChronoField.EPOCH_DAY) && b.isSupported(ChronoField.EPOCH_DAY)) {
+            int c = Long.compare(a.getLong(ChronoField.EPOCH_DAY), b.getLong(ChronoField.EPOCH_DAY));
+            if (c != 0) {
+                return c;
+            }
+        }
+        if (a.isSupported(ChronoField.NANO_OF_DAY) && b.isSupported(ChronoField.NANO_OF_DAY)) {
+            return Long.compare(a.getLong(ChronoField.NANO_OF_DAY), b.getLong(ChronoField.NANO_OF_DAY));
+        }
+        return 0;
+    }
+
+
+    /**
+     * Le uma data no layout dd/MM/yyyy, com o separador dado e
+     * exatamente dois digitos no dia e no mes e quatro no ano.
+     *
+     * <pre>
+     * DateFormats.parseDayMonthYear("02/02/2007", '/') == 13546
+     * DateFormats.parseDayMonthYear("31/02/2007", '/') == DateFormats.INVALID
+     * DateFormats.parseDayMonthYear("2/2/2007", '/')   == DateFormats.INVALID
+     * </pre>
+     *
+     * @param text        o texto, podendo ser <code>null</code>
+     * @param separator   o separador, como '/' ou '-'
+     * @return o dia desde 1970-01-01, ou {@link #INVALID}
+     */
+    public static long parseDayMonthYear(CharSequence text, char separator) {
+        if (text == null || text.length() != 10
+                || text.charAt(2) != separator || text.charAt(5) != separator) {
+            return INVALID;
+        }
+        int day = digits(text, 0, 2);
+        int month = digits(text, 3, 5);
+        int year = digits(text, 6, 10);
+        return epochDay(year, month, day);
+    }
+
+
+    /**
+     * Le uma data ISO yyyy-MM-dd, com exatamente quatro digitos no ano
+     * e dois no mes e no dia.
+     *
+     * @param text   o texto, podendo ser <code>null</code>
+     * @return o dia desde 1970-01-01, ou {@link #INVALID}
+     */
+    public static long parseIsoDate(CharSequence text) {
+        if (text == null || text.length() != 10
+                || text.charAt(4) != '-' || text.charAt(7) != '-') {
+            return INVALID;
+        }
+        int year = digits(text, 0, 4);
+        int month = digits(text, 5, 7);
+        int day = digits(text, 8, 10);
+        return epochDay(year, month, day);
+    }
+
+
+    /*
+     * O valor dos digitos em [from, to), ou -1 se algum nao for digito.
+     */
+    private static int digits(CharSequence text, int from, int to) {
+        int value = 0;
+        for (int i = from; i < to; i++) {
+            int d = text.charAt(i) - '0';
+            if (d < 0 || d > 9) {
+                return -1;
+            }
+            value = value * 10 + d;
+        }
+        return value;
+    }
+
+
+    /*
+     * O mesmo calculo de LocalDate.toEpochDay, sem criar a LocalDate.
+     * O ano 0000 nao existe no calendario da era crista.
+     */
+    private static long epochDay(int year, int month, int day) {
+        if (year < 1 || month < 1 || month > 12 || day < 1 || day > lengthOfMonth(year, month)) {
+            return INVALID;
+        }
+        long y = year;
+        long total = 365 * y;
+        total += (y + 3) / 4 - (y + 99) / 100 + (y + 399) / 400;
+        total += (367 * month - 362) / 12;
+        total += day - 1;
+        if (month > 2) {
+            total--;
+            if (!isLeapYear(year)) {
+                total--;
+            }
+        }
+        return total - 719528;
+    }
+
+
+    private static int lengthOfMonth(long year, int month) {
+        switch (month) {
+            case 2:
+                return isLeapYear(year) ? 29 : 28;
+            case 4:
+            case 6:
+            case 9:
+            case 11:
+                return 30;
+            default:
+                return 31;
+        }
+    }
+
+
+    private static boolean isLeapYear(long year) {
+        return (year & 3) == 0 && (year % 100 != 0 || year % 400 == 0);
+    }
+}
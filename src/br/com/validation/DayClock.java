@@ -0,0 +1,321 @@
+package br.com.validation;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+
+/**
+ * Relogio que guarda o inicio do dia corrente, e dos dias vizinhos,
+ * em milissegundos desde a epoca.
+ *
+ * Os limites sao recalculados so quando o dia vira (ou quando o
+ * relogio volta para antes do dia guardado); fora isso, saber se um
+ * instante e hoje, ontem ou amanha custa uma leitura do relogio e
+ * algumas comparacoes de <code>long</code>, sem criar objetos.
+ *
+ * O fuso e o do {@link Clock} informado. A instancia padrao segue o
+ * fuso padrao da JVM, como o <code>GregorianCalendar</code> dos
+ * metodos antigos de {@link Validations}: se ele muda, os limites sao
+ * recalculados. Ler o fuso padrao cria um objeto, entao ele e
+ * conferido no maximo uma vez por milissegundo do relogio; uma troca
+ * de fuso vale a partir do milissegundo seguinte.
+ *
+ * Instancias sao imutaveis por fora e podem ser usadas por varias
+ * threads ao mesmo tempo.
+ *
+ * @see Validations#isToday(long)
+ */
+public final class DayClock {
+
+    private static final DayClock DEFAULT = new DayClock(Clock.systemUTC(), null);
+
+    private final Clock clock;
+    // null: o fuso padrao da JVM, do momento
+    private final ZoneId zone;
+    private volatile Day day;
+    // o milissegundo em que o fuso padrao foi conferido pela ultima vez
+    private volatile long zoneChecked;
+
+
+    private DayClock(Clock clock, ZoneId zone) {
+        this.clock = clock;
+        this.zone = zone;
+        this.day = day(clock.millis(), getZone());
+    }
+
+
+    /**
+     * @return o relogio do sistema no fuso padrao da JVM, que acompanha
+     *     as mudancas de <code>TimeZone.setDefault</code>
+     */
+    public static DayClock systemDefault() {
+        return DEFAULT;
+    }
+
+
+    /**
+     * @param clock   o relogio, que tambem define o fuso
+     * @return um <code>DayClock</code> sobre o relogio dado
+     */
+    public static DayClock of(Clock clock) {
+        if (clock == null) {
+            throw new NullPointerException("clock");
+        }
+        return new DayClock(clock, clock.getZone());
+    }
+
+
+    /**
+     * @param zone   o fuso dos limites do dia
+     * @return um <code>DayClock</code> sobre o relogio do sistema no fuso dado
+     */
+    public static DayClock of(ZoneId zone) {
+        return of(Clock.system(zone));
+    }
+
+
+    /**
+     * @return o fuso usado para calcular os limites do dia
+     */
+    public ZoneId getZone() {
+        return zone != null ? zone : ZoneId.systemDefault();
+    }
+
+
+    /**
+     * @return o inicio do dia de hoje, em milissegundos desde a epoca
+     */
+    public long startOfToday() {
+        return current().today;
+    }
+
+
+    /**
+     * @param offsetDays   o deslocamento em dias a partir de hoje
+     * @return o inicio do dia com o deslocamento dado, em milissegundos
+     *     desde a epoca
+     */
+    public long startOfDay(int offsetDays) {
+        return current().start(offsetDays);
+    }
+
+
+    /**
+     * @return o dia de hoje contado em dias desde 1970-01-01
+     */
+    public long epochDay() {
+        return current().epochDay;
+    }
+
+
+    /**
+     * @return se o instante e de um dia anterior a hoje
+     */
+    public boolean isPastDay(long millis) {
+        return millis < current().today;
+    }
+
+
+    /**
+     * @return se o instante e de ontem
+     */
+    public boolean isYesterday(long millis) {
+        Day d = current();
+        return millis >= d.yesterday && millis < d.today;
+    }
+
+
+    /**
+     * @return se o instante esta entre o inicio do dia de
+     *     <code>days</code> dias atras e o inicio de hoje
+     */
+    public boolean isDaysPast(long millis, int days) {
+        Day d = current();
+        return millis >= d.start(-days) && millis < d.today;
+    }
+
+
+    /**
+     * @return se o instante e de hoje
+     */
+    public boolean isToday(long millis) {
+        Day d = current();
+        return millis >= d.today && millis < d.tomorrow;
+    }
+
+
+    /**
+     * @return se o instante e de amanha
+     */
+    public boolean isTomorrow(long millis) {
+        Day d = current();
+        return millis >= d.tomorrow && millis < d.dayAfter;
+    }
+
+
+    /**
+     * @return se o instante e de amanha em diante
+     */
+    public boolean isFutureDay(long millis) {
+        return millis >= current().tomorrow;
+    }
+
+
+    public boolean isPastDay(Instant instant) {
+        return isPastDay(instant.toEpochMilli());
+    }
+
+
+    public boolean isYesterday(Instant instant) {
+        return isYesterday(instant.toEpochMilli());
+    }
+
+
+    public boolean isDaysPast(Instant instant, int days) {
+        return isDaysPast(instant.toEpochMilli(), days);
+    }
+
+
+    public boolean isToday(Instant instant) {
+        return isToday(instant.toEpochMilli());
+    }
+
+
+    public boolean isTomorrow(Instant instant) {
+        return isTomorrow(instant.toEpochMilli());
+    }
+
+
+    public boolean isFutureDay(Instant instant) {
+        return isFutureDay(instant.toEpochMilli());
+    }
+
+
+    /*
+     * Um LocalDate ja e um dia; basta comparar os dias desde a epoca.
+     */
+
+    public boolean isPastDay(LocalDate date) {
+        return date.toEpochDay() < current().epochDay;
+    }
+
+
+    public boolean isYesterday(LocalDate date) {
+        return date.toEpochDay() == current().epochDay - 1;
+    }
+
+
+    public boolean isDaysPast(LocalDate date, int days) {
+        long today = current().epochDay;
+        long day = date.toEpochDay();
+        return day >= today - days && day < today;
+    }
+
+
+    public boolean isToday(LocalDate date) {
+        return date.toEpochDay() == current().epochDay;
+    }
+
+
+    public boolean isTomorrow(LocalDate date) {
+        return date.toEpochDay() == current().epochDay + 1;
+    }
+
+
+    public boolean isFutureDay(LocalDate date) {
+        return date.toEpochDay() > current().epochDay;
+    }
+
+
+    /*
+     * Devolve os limites do dia corrente, recalculando-os se o relogio
+     * ja saiu do dia guardado ou se o fuso padrao mudou. Duas threads
+     * podem recalcular ao mesmo tempo; o resultado e o mesmo e qualquer
+     * um dos dois serve.
+     */
+    private Day current() {
+        Day d = day;
+        long now = clock.millis();
+        if (now >= d.today && now < d.tomorrow) {
+            if (zone != null || now == zoneChecked) {
+                return d;
+            }
+            ZoneId z = ZoneId.systemDefault();
+            if (!d.zone.equals(z)) {
+                d = day(now, z);
+                day = d;
+            }
+            zoneChecked = now;
+            return d;
+        }
+        d = day(now, getZone());
+        day = d;
+        return d;
+    }
+
+
+    private static Day day(long millis, ZoneId zone) {
+        return new Day(LocalDate.ofInstant(Instant.ofEpochMilli(millis), zone).toEpochDay(), zone);
+    }
+
+
+    /*
+     * Os inicios de ontem, hoje, amanha e depois de amanha. Sao
+     * calculados pelo fuso, porque nem todo dia tem 24 horas. O inicio
+     * do ultimo outro deslocamento pedido (o isDaysPast de N dias)
+     * tambem fica guardado.
+     */
+    private static final class Day {
+        final ZoneId zone;
+        final long epochDay;
+        final long yesterday;
+        final long today;
+        final long tomorrow;
+        final long dayAfter;
+        volatile Bound last;
+
+        Day(long epochDay, ZoneId zone) {
+            this.zone      = zone;
+            this.epochDay  = epochDay;
+            this.yesterday = start(epochDay - 1, zone);
+            this.today     = start(epochDay,     zone);
+            this.tomorrow  = start(epochDay + 1, zone);
+            this.dayAfter  = start(epochDay + 2, zone);
+        }
+
+        long start(int offsetDays) {
+            switch (offsetDays) {
+                case -1: return yesterday;
+                case 0:  return today;
+                case 1:  return tomorrow;
+                case 2:  return dayAfter;
+                default:
+                    Bound b = last;
+                    if (b == null || b.offsetDays != offsetDays) {
+                        b = new Bound(offsetDays, start(epochDay + offsetDays, zone));
+                        last = b;
+                    }
+                    return b.start;
+            }
+        }
+
+        static long start(long epochDay, ZoneId zone) {
+            return LocalDate.ofEpochDay(epochDay).atStartOfDay(zone).toInstant().toEpochMilli();
+        }
+    }
+
+
+    /*
+     * O inicio do dia a offsetDays dias de hoje.
+     */
+    private static final class Bound {
+        final int offsetDays;
+        final long start;
+
+        Bound(int offsetDays, long start) {
+            this.offsetDays = offsetDays;
+            this.start = start;
+        }
+    }
+}
@@ -0,0 +1,127 @@
+package br.com.validation;
+
+import java.util.Arrays;
+
+/**
+ * Um automato finito deterministico sobre ASCII, numa tabela de
+ * transicoes: <code>next[estado * 128 + caractere]</code>.
+ *
+ * O estado 0 e o estado morto e o 1 e o inicial. A verificacao le cada
+ * caractere uma vez, sem retrocesso, e para no primeiro que leva ao
+ * estado morto; caracteres fora do ASCII sempre levam a ele.
+ */
+final class Dfa {
+
+    static final String LOWER = "abcdefghijklmnopqrstuvwxyz";
+    static final String UPPER = "ABCDEFGHIJKLMNOPQRSTUVWXYZ";
+    static final String DIGITS = "0123456789";
+    static final String ALNUM = LOWER + UPPER + DIGITS;
+    static final String HEX = DIGITS + "abcdefABCDEF";
+
+    private final byte[] next;
+    private final long accept;
+
+
+    private Dfa(byte[] next, long accept) {
+        this.next = next;
+        this.accept = accept;
+    }
+
+
+    boolean matches(CharSequence s) {
+        byte[] next = this.next;
+        int state = 1;
+        for (int i = 0, n = s.length(); i < n; i++) {
+            char c = s.charAt(i);
+            if (c >= 128) {
+                return false;
+            }
+            state = next[state << 7 | c];
+            if (state == 0) {
+                return false;
+            }
+        }
+        return (accept >>> state & 1) != 0;
+    }
+
+
+    boolean matches(byte[] utf8, int offset, int length) {
+        byte[] next = this.next;
+        int state = 1;
+        for (int i = offset, end = offset + length; i < end; i++) {
+            int c = utf8[i];
+            // bytes de sequencias UTF-8 sao negativos
+            if (c < 0) {
+                return false;
+            }
+            state = next[state << 7 | c];
+            if (state == 0) {
+                return false;
+            }
+        }
+        return (accept >>> state & 1) != 0;
+    }
+
+
+    /**
+     * Monta a tabela estado a estado. Os estados sao numerados na ordem
+     * de criacao, a partir do inicial; cabem ate 63.
+     */
+    static final class Builder {
+
+        private byte[] next = new byte[2 << 7];
+        private int states = 2;
+        private long accept;
+
+
+        /**
+         * @return o estado inicial
+         */
+        int start() {
+            return 1;
+        }
+
+
+        int state() {
+            if (states == 64) {
+                throw new IllegalStateException("Too many states.");
+            }
+            if ((states + 1) << 7 > next.length) {
+                next = Arrays.copyOf(next, next.length * 2);
+            }
+            return states++;
+        }
+
+
+        /**
+         * Liga <code>from</code> a <code>to</code> por cada caractere de
+         * <code>chars</code>.
+         */
+        Builder on(int from, String chars, int to) {
+            for (int i = 0; i < chars.length(); i++) {
+                next[from << 7 | chars.charAt(i)] = (byte) to;
+            }
+            return this;
+        }
+
+
+        /**
+         * Como {@link #on(int, String, int)}, para maiusculas e
+         * minusculas das letras.
+         */
+        Builder onIgnoreCase(int from, String chars, int to) {
+            return on(from, chars.toLowerCase(), to).on(from, chars.toUpperCase(), to);
+        }
+
+
+        Builder accept(int state) {
+            accept |= 1L << state;
+            return this;
+        }
+
+
+        Dfa build() {
+            return new Dfa(Arrays.copyOf(next, states << 7), accept);
+        }
+    }
+}
@@ -0,0 +1,276 @@
+package br.com.validation;
+
+/**
+ * Validacao de documentos brasileiros: CPF, CNPJ, CEP e telefone.
+ *
+ * Todos aceitam o valor com ou sem mascara e conferem formato e digitos
+ * verificadores numa unica passada, sem criar objetos. Como em
+ * {@link Validations}, <code>null</code> e o texto vazio nao sao
+ * validos.
+ *
+ * As versoes <code>byte[]</code> leem os bytes UTF-8 direto, e servem
+ * de {@link br.com.validation.string.FieldRule} no
+ * {@link br.com.validation.string.RecordValidator}. Para uma coluna
+ * inteira, use o {@link BatchValidator}:
+ *
+ * <pre>
+ * BatchResult result = BatchValidator.of(Documents::isCpf).validate(cpfs);
+ * </pre>
+ */
+public final class Documents {
+
+    /* Posicoes dos digitos, sem e com mascara. */
+    private static final byte[] CPF = {0, 1, 2, 3, 4, 5, 6, 7, 8, 9, 10};
+    private static final byte[] CPF_MASKED = {0, 1, 2, 4, 5, 6, 8, 9, 10, 12, 13};
+    private static final byte[] CNPJ = {0, 1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11, 12, 13};
+    private static final byte[] CNPJ_MASKED = {0, 1, 3, 4, 5, 7, 8, 9, 11, 12, 13, 14, 16, 17};
+
+
+    private Documents() {
+    }
+
+
+    /**
+     * CPF: "12345678909" ou "123.456.789-09". CPFs com os 11 digitos
+     * iguais sao recusados, embora os verificadores batam.
+     */
+    public static boolean isCpf(CharSequence cpf) {
+        return cpf != null && cpf(cpf, null, 0, cpf.length());
+    }
+
+
+    /**
+     * @see #isCpf(CharSequence)
+     */
+    public static boolean isCpf(byte[] utf8, int offset, int length) {
+        return utf8 != null && cpf(null, utf8, offset, length);
+    }
+
+
+    /**
+     * CNPJ: "11222333000181" ou "11.222.333/0001-81".
+     *
+     * Aceita tambem o CNPJ alfanumerico: as 12 primeiras posicoes podem
+     * ser letras maiusculas (A-Z), que valem o codigo ASCII menos 48 no
+     * calculo dos verificadores; os 2 verificadores sao sempre digitos.
+     * CNPJs com os 14 caracteres iguais sao recusados.
+     */
+    public static boolean isCnpj(CharSequence cnpj) {
+        return cnpj != null && cnpj(cnpj, null, 0, cnpj.length());
+    }
+
+
+    /**
+     * @see #isCnpj(CharSequence)
+     */
+    public static boolean isCnpj(byte[] utf8, int offset, int length) {
+        return utf8 != null && cnpj(null, utf8, offset, length);
+    }
+
+
+    /**
+     * CEP: "01310100" ou "01310-100".
+     */
+    public static boolean isCep(CharSequence cep) {
+        return cep != null && cep(cep, null, 0, cep.length());
+    }
+
+
+    /**
+     * @see #isCep(CharSequence)
+     */
+    public static boolean isCep(byte[] utf8, int offset, int length) {
+        return utf8 != null && cep(null, utf8, offset, length);
+    }
+
+
+    /**
+     * Telefone com DDD: fixo com 8 digitos, comecando de 2 a 5, ou
+     * celular com 9, comecando com 9. Aceita "+55" no inicio, o DDD
+     * entre parenteses, um espaco depois do DDD e um hifen ou espaco
+     * antes dos 4 ultimos digitos: "11987654321", "(11) 98765-4321",
+     * "+55 11 3456-7890".
+     */
+    public static boolean isPhone(CharSequence phone) {
+        return phone != null && phone(phone, null, 0, phone.length());
+    }
+
+
+    /**
+     * @see #isPhone(CharSequence)
+     */
+    public static boolean isPhone(byte[] utf8, int offset, int length) {
+        return utf8 != null && phone(null, utf8, offset, length);
+    }
+
+
+    /*
+     * Os algoritmos leem de uma CharSequence ou de bytes, o que nao for
+     * null; o JIT especializa o teste para o tipo usado em cada ponto.
+     */
+    private static int at(CharSequence chars, byte[] bytes, int i) {
+        return bytes != null ? bytes[i] & 0xFF : chars.charAt(i);
+    }
+
+
+    /*
+     * "123.456.789-09": separadores nas posicoes 3, 7 e 11.
+     */
+    private static boolean cpf(CharSequence chars, byte[] bytes, int offset, int length) {
+        byte[] positions;
+        if (length == 11) {
+            positions = CPF;
+        } else if (length == 14) {
+            if (at(chars, bytes, offset + 3) != '.' || at(chars, bytes, offset + 7) != '.'
+                    || at(chars, bytes, offset + 11) != '-') {
+                return false;
+            }
+            positions = CPF_MASKED;
+        } else {
+            return false;
+        }
+        int first = at(chars, bytes, offset);
+        int different = 0;
+        int sum1 = 0;
+        int sum2 = 0;
+        for (int n = 0; n < 9; n++) {
+            int c = at(chars, bytes, offset + positions[n]);
+            int d = c - '0';
+            if (d < 0 || d > 9) {
+                return false;
+            }
+            different |= c ^ first;
+            sum1 += d * (10 - n);
+            sum2 += d * (11 - n);
+        }
+        int dv1 = at(chars, bytes, offset + positions[9]) - '0';
+        int dv2 = at(chars, bytes, offset + positions[10]) - '0';
+        different |= (dv1 + '0') ^ first | (dv2 + '0') ^ first;
+        return different != 0 && dv1 == checkDigit(sum1) && dv2 == checkDigit(sum2 + dv1 * 2);
+    }
+
+
+    /*
+     * "12.ABC.345/01DE-35": separadores nas posicoes 2, 6, 10 e 15. Pesos
+     * de 2 a 9, da direita para a esquerda, sobre o valor de cada
+     * caractere menos '0'.
+     */
+    private static boolean cnpj(CharSequence chars, byte[] bytes, int offset, int length) {
+        byte[] positions;
+        if (length == 14) {
+            positions = CNPJ;
+        } else if (length == 18) {
+            if (at(chars, bytes, offset + 2) != '.' || at(chars, bytes, offset + 6) != '.'
+                    || at(chars, bytes, offset + 10) != '/' || at(chars, bytes, offset + 15) != '-') {
+                return false;
+            }
+            positions = CNPJ_MASKED;
+        } else {
+            return false;
+        }
+        int first = at(chars, bytes, offset);
+        int different = 0;
+        int sum1 = 0;
+        int sum2 = 0;
+        for (int n = 0; n < 12; n++) {
+            int c = at(chars, bytes, offset + positions[n]);
+            // so a raiz e a ordem podem ter letras
+            if ((c < '0' || c > '9') && (c < 'A' || c > 'Z')) {
+                return false;
+            }
+            int v = c - '0';
+            different |= c ^ first;
+            sum1 += v * (n < 4 ? 5 - n : 13 - n);
+            sum2 += v * (n < 5 ? 6 - n : 14 - n);
+        }
+        int dv1 = at(chars, bytes, offset + positions[12]) - '0';
+        int dv2 = at(chars, bytes, offset + positions[13]) - '0';
+        different |= (dv1 + '0') ^ first | (dv2 + '0') ^ first;
+        return different != 0 && dv1 == checkDigit(sum1) && dv2 == checkDigit(sum2 + dv1 * 2);
+    }
+
+
+    private static int checkDigit(int sum) {
+        int r = sum % 11;
+        return r < 2 ? 0 : 11 - r;
+    }
+
+
+    private static boolean cep(CharSequence chars, byte[] bytes, int offset, int length) {
+        if (length != 8 && length != 9) {
+            return false;
+        }
+        for (int i = 0; i < length; i++) {
+            int c = at(chars, bytes, offset + i);
+            if (length == 9 && i == 5) {
+                if (c != '-') {
+                    return false;
+                }
+            } else if (c < '0' || c > '9') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+
+    private static boolean phone(CharSequence chars, byte[] bytes, int offset, int length) {
+        int end = offset + length;
+        int p = offset;
+        if (p < end && at(chars, bytes, p) == '+') {
+            if (end - p < 3 || at(chars, bytes, p + 1) != '5' || at(chars, bytes, p + 2) != '5') {
+                return false;
+            }
+            p += 3;
+            if (p < end && at(chars, bytes, p) == ' ') {
+                p++;
+            }
+        }
+        boolean paren = p < end && at(chars, bytes, p) == '(';
+        if (paren) {
+            p++;
+        }
+        // DDD: dois digitos de 1 a 9
+        for (int i = 0; i < 2; i++, p++) {
+            if (p >= end) {
+                return false;
+            }
+            int c = at(chars, bytes, p);
+            if (c < '1' || c > '9') {
+                return false;
+            }
+        }
+        if (paren) {
+            if (p >= end || at(chars, bytes, p) != ')') {
+                return false;
+            }
+            p++;
+        }
+        if (p < end && at(chars, bytes, p) == ' ') {
+            p++;
+        }
+        if (p >= end) {
+            return false;
+        }
+        int lead = at(chars, bytes, p);
+        int digits = 0;
+        int separator = -1;
+        for (; p < end; p++) {
+            int c = at(chars, bytes, p);
+            if (c >= '0' && c <= '9') {
+                digits++;
+            } else if ((c == '-' || c == ' ') && separator < 0 && digits > 0) {
+                separator = digits;
+            } else {
+                return false;
+            }
+        }
+        if (separator >= 0 && digits - separator != 4) {
+            return false;
+        }
+        if (digits == 9) {
+            return lead == '9';
+        }
+        return digits == 8 && lead >= '2' && lead <= '5';
+    }
+}
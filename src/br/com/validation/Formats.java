@@ -0,0 +1,190 @@
+package br.com.validation;
+
+/**
+ * Validacao de formatos textuais: e-mail, URL e UUID.
+ *
+ * Cada formato e um automato deterministico em tabela ({@link Dfa}): a
+ * verificacao e linear no tamanho do texto, sem retrocesso e sem criar
+ * objetos, entao nenhuma entrada tem custo patologico como pode ter um
+ * <code>java.util.regex.Pattern</code>. Como em {@link Validations},
+ * <code>null</code> e o texto vazio nao sao validos, e espacos nas
+ * pontas tambem nao. So ASCII e aceito: dominios internacionalizados
+ * tem que vir em punycode.
+ *
+ * As versoes <code>byte[]</code> leem os bytes UTF-8 direto, e servem
+ * de {@link br.com.validation.string.FieldRule}.
+ */
+public final class Formats {
+
+    /** Tamanho maximo de um e-mail, pela RFC 5321. */
+    public static final int MAXIMUM_EMAIL_LENGTH = 254;
+
+    private static final Dfa EMAIL = email();
+    private static final Dfa URL = url();
+    private static final Dfa UUID = uuid();
+
+
+    private Formats() {
+    }
+
+
+    /**
+     * E-mail no formato da especificacao HTML
+     * (<code>input type="email"</code>), com ao menos um ponto no dominio:
+     * "nome.sobrenome+tag@mail.example.com". Cada rotulo do dominio
+     * comeca e termina com letra ou digito. Equivale a
+     *
+     * <pre>
+     * [A-Za-z0-9.!#$%&amp;'*+/=?^_`{|}~-]+@[A-Za-z0-9](?:[A-Za-z0-9-]*[A-Za-z0-9])?
+     *     (?:\.[A-Za-z0-9](?:[A-Za-z0-9-]*[A-Za-z0-9])?)+
+     * </pre>
+     *
+     * com no maximo {@link #MAXIMUM_EMAIL_LENGTH} caracteres.
+     */
+    public static boolean isEmail(CharSequence email) {
+        return email != null && email.length() <= MAXIMUM_EMAIL_LENGTH && EMAIL.matches(email);
+    }
+
+
+    /**
+     * @see #isEmail(CharSequence)
+     */
+    public static boolean isEmail(byte[] utf8, int offset, int length) {
+        return utf8 != null && length <= MAXIMUM_EMAIL_LENGTH && EMAIL.matches(utf8, offset, length);
+    }
+
+
+    /**
+     * URL absoluta http, https ou ftp (o esquema em qualquer caixa), com
+     * host por nome ou IPv4, porta opcional de ate 5 digitos e caminho,
+     * query e fragmento com os caracteres da RFC 3986 e escapes
+     * "%XX" validos: "https://example.com:8080/a/b?q=1#top". Nao aceita
+     * usuario e senha nem IPv6. Equivale a
+     *
+     * <pre>
+     * (?i:https?|ftp)://[A-Za-z0-9](?:[A-Za-z0-9-]*[A-Za-z0-9])?
+     *     (?:\.[A-Za-z0-9](?:[A-Za-z0-9-]*[A-Za-z0-9])?)*(?::[0-9]{1,5})?
+     *     (?:[/?#](?:[A-Za-z0-9._~!$&amp;'()*+,;=:@/?#-]|%[0-9A-Fa-f]{2})*)?
+     * </pre>
+     */
+    public static boolean isUrl(CharSequence url) {
+        return url != null && URL.matches(url);
+    }
+
+
+    /**
+     * @see #isUrl(CharSequence)
+     */
+    public static boolean isUrl(byte[] utf8, int offset, int length) {
+        return utf8 != null && URL.matches(utf8, offset, length);
+    }
+
+
+    /**
+     * UUID na forma canonica de 36 caracteres, em qualquer caixa:
+     * "123e4567-e89b-12d3-a456-426614174000". Nao confere versao nem
+     * variante.
+     */
+    public static boolean isUuid(CharSequence uuid) {
+        return uuid != null && uuid.length() == 36 && UUID.matches(uuid);
+    }
+
+
+    /**
+     * @see #isUuid(CharSequence)
+     */
+    public static boolean isUuid(byte[] utf8, int offset, int length) {
+        return utf8 != null && length == 36 && UUID.matches(utf8, offset, length);
+    }
+
+
+    private static Dfa email() {
+        Dfa.Builder b = new Dfa.Builder();
+        String local = Dfa.ALNUM + ".!#$%&'*+/=?^_`{|}~-";
+        int start = b.start();
+        int localPart = b.state();
+        int at = b.state();
+        int label = b.state();
+        int labelHyphen = b.state();
+        int dot = b.state();
+        int tld = b.state();
+        int tldHyphen = b.state();
+        b.on(start, local, localPart);
+        b.on(localPart, local, localPart).on(localPart, "@", at);
+        // primeiro rotulo do dominio
+        b.on(at, Dfa.ALNUM, label);
+        b.on(label, Dfa.ALNUM, label).on(label, "-", labelHyphen).on(label, ".", dot);
+        b.on(labelHyphen, Dfa.ALNUM, label).on(labelHyphen, "-", labelHyphen);
+        // rotulos depois de um ponto
+        b.on(dot, Dfa.ALNUM, tld);
+        b.on(tld, Dfa.ALNUM, tld).on(tld, "-", tldHyphen).on(tld, ".", dot);
+        b.on(tldHyphen, Dfa.ALNUM, tld).on(tldHyphen, "-", tldHyphen);
+        return b.accept(tld).build();
+    }
+
+
+    private static Dfa url() {
+        Dfa.Builder b = new Dfa.Builder();
+        int start = b.start();
+        int h = b.state();
+        int ht = b.state();
+        int htt = b.state();
+        int http = b.state();
+        int https = b.state();
+        int f = b.state();
+        int ft = b.state();
+        int ftp = b.state();
+        int colon = b.state();
+        int slash = b.state();
+        int host = b.state();
+        int label = b.state();
+        int labelHyphen = b.state();
+        int dot = b.state();
+        int portColon = b.state();
+        int[] port = new int[5];
+        for (int i = 0; i < port.length; i++) {
+            port[i] = b.state();
+        }
+        int path = b.state();
+        int percent = b.state();
+        int percentHex = b.state();
+
+        b.onIgnoreCase(start, "h", h).onIgnoreCase(h, "t", ht).onIgnoreCase(ht, "t", htt).onIgnoreCase(htt, "p", http);
+        b.onIgnoreCase(http, "s", https).on(http, ":", colon).on(https, ":", colon);
+        b.onIgnoreCase(start, "f", f).onIgnoreCase(f, "t", ft).onIgnoreCase(ft, "p", ftp).on(ftp, ":", colon);
+        b.on(colon, "/", slash).on(slash, "/", host);
+
+        String pathStart = "/?#";
+        b.on(host, Dfa.ALNUM, label);
+        b.on(label, Dfa.ALNUM, label).on(label, "-", labelHyphen).on(label, ".", dot);
+        b.on(label, ":", portColon).on(label, pathStart, path);
+        b.on(labelHyphen, Dfa.ALNUM, label).on(labelHyphen, "-", labelHyphen);
+        b.on(dot, Dfa.ALNUM, label);
+        b.accept(label);
+
+        b.on(portColon, Dfa.DIGITS, port[0]);
+        for (int i = 0; i < port.length; i++) {
+            if (i + 1 < port.length) {
+                b.on(port[i], Dfa.DIGITS, port[i + 1]);
+            }
+            b.on(port[i], pathStart, path);
+            b.accept(port[i]);
+        }
+
+        b.on(path, Dfa.ALNUM + "-._~!$&'()*+,;=:@/?#", path).on(path, "%", percent);
+        b.on(percent, Dfa.HEX, percentHex).on(percentHex, Dfa.HEX, path);
+        return b.accept(path).build();
+    }
+
+
+    private static Dfa uuid() {
+        Dfa.Builder b = new Dfa.Builder();
+        int state = b.start();
+        for (int i = 0; i < 36; i++) {
+            int to = b.state();
+            b.on(state, i == 8 || i == 13 || i == 18 || i == 23 ? "-" : Dfa.HEX, to);
+            state = to;
+        }
+        return b.accept(state).build();
+    }
+}
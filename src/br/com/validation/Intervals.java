@@ -0,0 +1,300 @@
+package br.com.validation;
+
+import java.util.Arrays;
+
+/**
+ * Validacao em massa de intervalos dados como arrays paralelos de
+ * instantes (por exemplo epoch millis): o intervalo <em>i</em> vai de
+ * <code>begin[i]</code> a <code>end[i]</code>.
+ *
+ * Sao as versoes de colunas de
+ * {@link Validations#isDateEndGreatDateInitial},
+ * {@link Validations#isDateEndGreatOrEqualDateInitial} e afins, sem
+ * <code>Date</code> e sem boxing:
+ *
+ * <pre>
+ * BatchResult invalid = Intervals.endNotBeforeBegin(checkIn, checkOut);
+ * Overlaps conflicts = Intervals.overlaps(checkIn, checkOut, room);
+ * </pre>
+ */
+public final class Intervals {
+
+    private Intervals() {
+    }
+
+
+    /**
+     * Confere <code>end[i] &gt; begin[i]</code> em todas as linhas.
+     *
+     * @return as linhas em que o fim nao e maior que o inicio
+     */
+    public static BatchResult endAfterBegin(long[] begin, long[] end) {
+        return compare(begin, end, true);
+    }
+
+
+    /**
+     * Confere <code>end[i] &gt;= begin[i]</code> em todas as linhas.
+     *
+     * @return as linhas em que o fim e menor que o inicio
+     */
+    public static BatchResult endNotBeforeBegin(long[] begin, long[] end) {
+        return compare(begin, end, false);
+    }
+
+
+    /**
+     * Acha os pares de intervalos que se sobrepoem.
+     *
+     * @see #overlaps(long[], long[], int[])
+     */
+    public static Overlaps overlaps(long[] begin, long[] end) {
+        return overlaps(begin, end, null);
+    }
+
+
+    /**
+     * Acha os pares de intervalos do mesmo recurso (sala, quarto,
+     * veiculo) que se sobrepoem.
+     *
+     * Os intervalos sao semiabertos, <code>[begin, end)</code>: uma
+     * reserva que termina quando a outra comeca nao conflita com ela.
+     * Intervalos vazios ou invertidos nao entram na conta; use
+     * {@link #endAfterBegin} para acha-los.
+     *
+     * As linhas sao ordenadas por recurso e inicio (radix sort) e
+     * varridas uma vez, mantendo num heap os intervalos ainda abertos. O
+     * custo e O(n log n + pares).
+     *
+     * @param resource   o recurso de cada linha, ou <code>null</code>
+     *     se sao todas do mesmo
+     */
+    public static Overlaps overlaps(long[] begin, long[] end, int[] resource) {
+        check(begin, end);
+        if (resource != null && resource.length != begin.length) {
+            throw new IllegalArgumentException("resource has " + resource.length + " rows, begin has " + begin.length);
+        }
+        int n = 0;
+        int[] order = new int[begin.length];
+        for (int i = 0; i < begin.length; i++) {
+            if (end[i] > begin[i]) {
+                order[n++] = i;
+            }
+        }
+        Sorted sorted = new Sorted(order, n, begin, end, resource);
+
+        // daqui em diante tudo e por posicao na ordem, lido em sequencia
+        long[] first = sorted.begin;
+        long[] last = sorted.end;
+        int[] group = sorted.resource;
+        Overlaps.Builder pairs = new Overlaps.Builder();
+        int[] heap = new int[Math.max(n, 1)];
+        int open = 0;
+        for (int k = 0; k < n; k++) {
+            if (group != null && k > 0 && group[k] != group[k - 1]) {
+                open = 0;
+            }
+            // fecha os que terminaram ate o inicio deste
+            while (open > 0 && last[heap[0]] <= first[k]) {
+                heap[0] = heap[--open];
+                down(heap, open, last);
+            }
+            for (int h = 0; h < open; h++) {
+                pairs.add(order[heap[h]], order[k]);
+            }
+            heap[open] = k;
+            up(heap, open++, last);
+        }
+        return pairs.build();
+    }
+
+
+    /*
+     * Sem desvios: a comparacao com sinal vira o bit 63 de uma conta,
+     * e cada bloco de 64 linhas vira uma palavra do mapa.
+     */
+    private static BatchResult compare(long[] begin, long[] end, boolean strict) {
+        check(begin, end);
+        int rows = begin.length;
+        long[] words = new long[(rows + 63) >>> 6];
+        long start = System.nanoTime();
+        for (int from = 0, word = 0; from < rows; from += 64, word++) {
+            int to = Math.min(from + 64, rows);
+            long bits = 0;
+            if (strict) {
+                for (int i = from; i < to; i++) {
+                    // falha se end <= begin, ou seja, se !(begin < end)
+                    bits |= (~lessThan(begin[i], end[i]) & 1L) << i;
+                }
+            } else {
+                for (int i = from; i < to; i++) {
+                    bits |= lessThan(end[i], begin[i]) << i;
+                }
+            }
+            words[word] = bits;
+        }
+        return new BatchResult(words, rows, System.nanoTime() - start, 1);
+    }
+
+
+    /**
+     * @return 1 se <code>a &lt; b</code>, 0 se nao, sem overflow
+     */
+    private static long lessThan(long a, long b) {
+        long d = a - b;
+        return (d ^ ((a ^ b) & (d ^ a))) >>> 63;
+    }
+
+
+    private static void check(long[] begin, long[] end) {
+        if (begin.length != end.length) {
+            throw new IllegalArgumentException("begin has " + begin.length + " rows, end has " + end.length);
+        }
+    }
+
+
+    /*
+     * Radix sort LSD das linhas, por recurso e inicio, em digitos de 11
+     * bits: 6 passadas pelo inicio e 3 pelo recurso, pulando as que tem
+     * um digito so (os bits altos de epoch millis quase nunca mudam).
+     * As chaves andam junto com os indices, entao as passadas leem os
+     * arrays em ordem, e no fim os fins tambem ficam na ordem.
+     */
+    private static final class Sorted {
+
+        // 2048 contadores cabem no cache L1
+        private static final int DIGIT = 11;
+        private static final int MASK = (1 << DIGIT) - 1;
+
+        final long[] begin;
+        final long[] end;
+        final int[] resource;
+
+
+        Sorted(int[] order, int n, long[] begin, long[] end, int[] resource) {
+            long[] keys = new long[n];
+            for (int k = 0; k < n; k++) {
+                keys[k] = begin[order[k]] ^ Long.MIN_VALUE;
+            }
+            long[] keysTo = new long[n];
+            int[] orderTo = new int[n];
+            int[] count = new int[1 << DIGIT];
+            for (int shift = 0; shift < 64; shift += DIGIT) {
+                Arrays.fill(count, 0);
+                for (int k = 0; k < n; k++) {
+                    count[(int) (keys[k] >>> shift) & MASK]++;
+                }
+                if (!offsets(count, n)) {
+                    continue;
+                }
+                for (int k = 0; k < n; k++) {
+                    int slot = count[(int) (keys[k] >>> shift) & MASK]++;
+                    keysTo[slot] = keys[k];
+                    orderTo[slot] = order[k];
+                }
+                long[] swapKeys = keys;
+                keys = keysTo;
+                keysTo = swapKeys;
+                System.arraycopy(orderTo, 0, order, 0, n);
+            }
+            int[] groups = null;
+            if (resource != null) {
+                groups = new int[n];
+                int[] groupsTo = new int[n];
+                for (int k = 0; k < n; k++) {
+                    groups[k] = resource[order[k]] ^ Integer.MIN_VALUE;
+                }
+                for (int shift = 0; shift < 32; shift += DIGIT) {
+                    Arrays.fill(count, 0);
+                    for (int k = 0; k < n; k++) {
+                        count[(groups[k] >>> shift) & MASK]++;
+                    }
+                    if (!offsets(count, n)) {
+                        continue;
+                    }
+                    for (int k = 0; k < n; k++) {
+                        int slot = count[(groups[k] >>> shift) & MASK]++;
+                        groupsTo[slot] = groups[k];
+                        keysTo[slot] = keys[k];
+                        orderTo[slot] = order[k];
+                    }
+                    int[] swapGroups = groups;
+                    groups = groupsTo;
+                    groupsTo = swapGroups;
+                    long[] swapKeys = keys;
+                    keys = keysTo;
+                    keysTo = swapKeys;
+                    System.arraycopy(orderTo, 0, order, 0, n);
+                }
+            }
+            // keysTo ja nao e usado: vira o array dos fins
+            for (int k = 0; k < n; k++) {
+                keys[k] ^= Long.MIN_VALUE;
+                keysTo[k] = end[order[k]];
+            }
+            this.begin = keys;
+            this.end = keysTo;
+            this.resource = groups;
+        }
+    }
+
+
+    /**
+     * Troca as contagens pelas posicoes iniciais de cada digito.
+     *
+     * @return se a passada e necessaria, isto e, se ha mais de um digito
+     */
+    private static boolean offsets(int[] count, int n) {
+        int sum = 0;
+        for (int d = 0; d < count.length; d++) {
+            int c = count[d];
+            if (c == n) {
+                return false;
+            }
+            count[d] = sum;
+            sum += c;
+        }
+        return true;
+    }
+
+
+    /*
+     * Heap minimo de posicoes, pela chave end[posicao].
+     */
+    private static void up(int[] heap, int k, long[] end) {
+        int x = heap[k];
+        while (k > 0) {
+            int parent = (k - 1) >>> 1;
+            if (end[heap[parent]] <= end[x]) {
+                break;
+            }
+            heap[k] = heap[parent];
+            k = parent;
+        }
+        heap[k] = x;
+    }
+
+
+    private static void down(int[] heap, int size, long[] end) {
+        if (size == 0) {
+            return;
+        }
+        int x = heap[0];
+        int k = 0;
+        while (true) {
+            int child = 2 * k + 1;
+            if (child >= size) {
+                break;
+            }
+            if (child + 1 < size && end[heap[child + 1]] < end[heap[child]]) {
+                child++;
+            }
+            if (end[x] <= end[heap[child]]) {
+                break;
+            }
+            heap[k] = heap[child];
+            k = child;
+        }
+        heap[k] = x;
+    }
+}
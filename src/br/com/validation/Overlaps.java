@@ -0,0 +1,96 @@
+package br.com.validation;
+
+import java.util.Arrays;
+
+/**
+ * Os pares de intervalos sobrepostos achados por
+ * {@link Intervals#overlaps}. Em cada par, <code>first</code> comeca
+ * antes de <code>second</code>, ou junto com ele.
+ */
+public final class Overlaps {
+
+    private final int[] pairs;
+    private final int size;
+
+
+    private Overlaps(int[] pairs, int size) {
+        this.pairs = pairs;
+        this.size = size;
+    }
+
+
+    /**
+     * @return quantos pares foram achados
+     */
+    public int size() {
+        return size;
+    }
+
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+
+    /**
+     * @return a linha do intervalo que comeca primeiro no par
+     *     <code>pair</code>
+     */
+    public int first(int pair) {
+        return pairs[index(pair)];
+    }
+
+
+    /**
+     * @return a linha do outro intervalo do par <code>pair</code>
+     */
+    public int second(int pair) {
+        return pairs[index(pair) + 1];
+    }
+
+
+    private int index(int pair) {
+        if (pair < 0 || pair >= size) {
+            throw new IndexOutOfBoundsException("pair " + pair + " of " + size);
+        }
+        return pair << 1;
+    }
+
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder("[");
+        for (int k = 0; k < size; k++) {
+            if (k > 0) {
+                sb.append(", ");
+            }
+            sb.append('(').append(pairs[2 * k]).append(", ").append(pairs[2 * k + 1]).append(')');
+        }
+        return sb.append(']').toString();
+    }
+
+
+    static final class Builder {
+
+        private int[] pairs = new int[16];
+        private int size;
+
+
+        void add(int first, int second) {
+            if (2 * size == pairs.length) {
+                if (pairs.length > Integer.MAX_VALUE / 2 - 8) {
+                    throw new IllegalStateException("Too many overlapping pairs.");
+                }
+                pairs = Arrays.copyOf(pairs, pairs.length * 2);
+            }
+            pairs[2 * size] = first;
+            pairs[2 * size + 1] = second;
+            size++;
+        }
+
+
+        Overlaps build() {
+            return new Overlaps(pairs, size);
+        }
+    }
+}
@@ -0,0 +1,277 @@
+package br.com.validation;
+
+import java.lang.management.ManagementFactory;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Predicate;
+
+import javax.management.InstanceAlreadyExistsException;
+import javax.management.JMException;
+import javax.management.ObjectName;
+
+/**
+ * Contadores de uso e tempos de uma regra de validacao, publicados via
+ * JMX.
+ *
+ * A instrumentacao so existe com a propriedade de sistema
+ * <code>br.com.validation.metrics=true</code>. Sem ela,
+ * {@link #instrument(String, Predicate)} devolve o proprio predicado e
+ * o custo e zero: nao ha nenhum teste no caminho das chamadas.
+ *
+ * <pre>
+ * Predicate&lt;String&gt; cep = RuleMetrics.instrument("cep", Validations::isNumeric);
+ * BatchValidator.of(cep).validate(ceps);
+ * </pre>
+ *
+ * Chamadas, falhas e <code>null</code> sao contados em
+ * <code>LongAdder</code>, sem disputa entre threads. O tempo e medido
+ * em 1 de cada <code>br.com.validation.metrics.sample</code> chamadas
+ * (64 por padrao, arredondado para uma potencia de 2), porque o
+ * <code>System.nanoTime()</code> custa mais que os predicados simples.
+ */
+public final class RuleMetrics implements RuleMetricsMXBean {
+
+    /** Se a instrumentacao esta ligada nesta JVM. */
+    public static final boolean ENABLED = Boolean.getBoolean("br.com.validation.metrics");
+
+    private static final int SAMPLE_MASK = sampleMask(Integer.getInteger("br.com.validation.metrics.sample", 64));
+
+    private static final ConcurrentMap<String, RuleMetrics> RULES = new ConcurrentHashMap<String, RuleMetrics>();
+
+    private final String name;
+    private final LongAdder calls = new LongAdder();
+    private final LongAdder failures = new LongAdder();
+    private final LongAdder nulls = new LongAdder();
+    private final LongAdder sampled = new LongAdder();
+    private final LongAdder totalNanos = new LongAdder();
+    private final LongAccumulator maxNanos = new LongAccumulator(Math::max, 0);
+    private final AtomicLongArray histogram = new AtomicLongArray(64);
+
+
+    private RuleMetrics(String name) {
+        this.name = name;
+    }
+
+
+    /**
+     * Envolve o predicado com as metricas da regra <code>name</code>.
+     * Predicados com o mesmo nome somam nos mesmos contadores.
+     *
+     * @return o proprio predicado, se a instrumentacao esta desligada
+     */
+    public static <T> Predicate<T> instrument(String name, Predicate<T> rule) {
+        if (rule == null) {
+            throw new NullPointerException("rule");
+        }
+        if (!ENABLED) {
+            return rule;
+        }
+        RuleMetrics metrics = of(name);
+        return new Predicate<T>() {
+            @Override
+            public boolean test(T value) {
+                return metrics.test(rule, value);
+            }
+        };
+    }
+
+
+    /**
+     * @return as metricas da regra, criadas e registradas no MBean server
+     *     na primeira vez
+     */
+    public static RuleMetrics of(String name) {
+        if (name == null) {
+            throw new NullPointerException("name");
+        }
+        RuleMetrics metrics = RULES.get(name);
+        if (metrics == null) {
+            RuleMetrics created = new RuleMetrics(name);
+            metrics = RULES.putIfAbsent(name, created);
+            if (metrics == null) {
+                metrics = created;
+                register(created);
+            }
+        }
+        return metrics;
+    }
+
+
+    /**
+     * @return as metricas de todas as regras instrumentadas
+     */
+    public static Collection<RuleMetrics> all() {
+        return Collections.unmodifiableCollection(RULES.values());
+    }
+
+
+    private <T> boolean test(Predicate<T> rule, T value) {
+        calls.increment();
+        if (value == null) {
+            nulls.increment();
+        }
+        boolean valid;
+        if ((ThreadLocalRandom.current().nextInt() & SAMPLE_MASK) == 0) {
+            long start = System.nanoTime();
+            valid = rule.test(value);
+            record(System.nanoTime() - start);
+        } else {
+            valid = rule.test(value);
+        }
+        if (!valid) {
+            failures.increment();
+        }
+        return valid;
+    }
+
+
+    private void record(long nanos) {
+        sampled.increment();
+        totalNanos.add(nanos);
+        maxNanos.accumulate(nanos);
+        histogram.incrementAndGet(Math.min(63, 64 - Long.numberOfLeadingZeros(Math.max(nanos, 0))));
+    }
+
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+
+    @Override
+    public long getCalls() {
+        return calls.sum();
+    }
+
+
+    @Override
+    public long getFailures() {
+        return failures.sum();
+    }
+
+
+    @Override
+    public long getNulls() {
+        return nulls.sum();
+    }
+
+
+    @Override
+    public long getSampledCalls() {
+        return sampled.sum();
+    }
+
+
+    @Override
+    public double getMeanNanos() {
+        long count = sampled.sum();
+        return count == 0 ? 0 : (double) totalNanos.sum() / count;
+    }
+
+
+    @Override
+    public long getMaxNanos() {
+        return maxNanos.get();
+    }
+
+
+    @Override
+    public long getP50Nanos() {
+        return percentile(0.5);
+    }
+
+
+    @Override
+    public long getP99Nanos() {
+        return percentile(0.99);
+    }
+
+
+    @Override
+    public long getP999Nanos() {
+        return percentile(0.999);
+    }
+
+
+    @Override
+    public long[] getHistogram() {
+        long[] counts = new long[histogram.length()];
+        for (int i = 0; i < counts.length; i++) {
+            counts[i] = histogram.get(i);
+        }
+        return counts;
+    }
+
+
+    @Override
+    public void reset() {
+        calls.reset();
+        failures.reset();
+        nulls.reset();
+        sampled.reset();
+        totalNanos.reset();
+        maxNanos.reset();
+        for (int i = 0; i < histogram.length(); i++) {
+            histogram.set(i, 0);
+        }
+    }
+
+
+    /**
+     * @return o limite superior do intervalo do histograma onde cai o
+     *     percentil, ou 0 sem amostras
+     */
+    private long percentile(double fraction) {
+        long[] counts = getHistogram();
+        long total = 0;
+        for (long count : counts) {
+            total += count;
+        }
+        if (total == 0) {
+            return 0;
+        }
+        long rank = (long) Math.ceil(total * fraction);
+        long seen = 0;
+        for (int i = 0; i < counts.length; i++) {
+            seen += counts[i];
+            if (seen >= rank) {
+                return i == 0 ? 0 : i >= 63 ? Long.MAX_VALUE : (1L << i) - 1;
+            }
+        }
+        return Long.MAX_VALUE;
+    }
+
+
+    @Override
+    public String toString() {
+        return name + "[calls=" + getCalls() + ", failures=" + getFailures() + ", nulls=" + getNulls()
+            + ", p50=" + getP50Nanos() + "ns, p99=" + getP99Nanos() + "ns]";
+    }
+
+
+    private static void register(RuleMetrics metrics) {
+        try {
+            ObjectName name = new ObjectName("br.com.validation:type=ValidationRule,name=" + ObjectName.quote(metrics.name));
+            ManagementFactory.getPlatformMBeanServer().registerMBean(metrics, name);
+        } catch (InstanceAlreadyExistsException e) {
+            // outra copia da biblioteca, em outro class loader, ja registrou
+        } catch (JMException e) {
+            throw new IllegalStateException("Could not register the metrics of " + metrics.name + ".", e);
+        }
+    }
+
+
+    private static int sampleMask(int rate) {
+        if (rate <= 1) {
+            return 0;
+        }
+        return Integer.highestOneBit(rate - 1) * 2 - 1;
+    }
+}
@@ -0,0 +1,66 @@
+package br.com.validation;
+
+/**
+ * A interface JMX de {@link RuleMetrics}, publicada no MBean server da
+ * plataforma como <code>br.com.validation:type=ValidationRule,name=...</code>.
+ *
+ * Os tempos sao medidos so numa amostra das chamadas e ficam num
+ * histograma de potencias de 2: os percentis sao o limite superior do
+ * intervalo em que caem.
+ */
+public interface RuleMetricsMXBean {
+
+    /**
+     * @return o nome da regra
+     */
+    String getName();
+
+
+    long getCalls();
+
+
+    /**
+     * @return quantas chamadas devolveram <code>false</code>
+     */
+    long getFailures();
+
+
+    /**
+     * @return quantas chamadas receberam <code>null</code>
+     */
+    long getNulls();
+
+
+    /**
+     * @return quantas chamadas tiveram o tempo medido
+     */
+    long getSampledCalls();
+
+
+    double getMeanNanos();
+
+
+    long getMaxNanos();
+
+
+    long getP50Nanos();
+
+
+    long getP99Nanos();
+
+
+    long getP999Nanos();
+
+
+    /**
+     * @return as contagens do histograma: a posicao <em>i</em> conta as
+     *     chamadas que levaram de 2^(i-1) a 2^i - 1 nanossegundos
+     */
+    long[] getHistogram();
+
+
+    /**
+     * Zera todos os contadores.
+     */
+    void reset();
+}
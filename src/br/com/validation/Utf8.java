@@ -0,0 +1,316 @@
+package br.com.validation;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Objects;
+
+/**
+ * Os predicados de {@link Validations} sobre bytes UTF-8, sem
+ * decodificar a entrada para String.
+ *
+ * Os bytes ASCII sao classificados pela tabela de {@link CharClasses};
+ * as sequencias multibyte sao decodificadas no lugar para um code
+ * point. Uma sequencia invalida nunca e letra, digito ou espaco em
+ * branco.
+ *
+ * Os tamanhos sao contados como na String decodificada, sem
+ * decodificar: cada byte que nao e de continuacao abre um caractere, e
+ * os que abrem uma sequencia de 4 bytes (fora do BMP) valem 2, como o
+ * par de surrogates. Num texto invalido o tamanho pode diferir do da
+ * String, que troca cada sequencia invalida por U+FFFD.
+ *
+ * Os digitos e a contagem de caracteres sao feitos 8 bytes por vez.
+ * Buffers diretos sao lidos com get absoluto, sem mexer na posicao.
+ */
+final class Utf8 {
+
+    private static final VarHandle LONGS =
+        MethodHandles.byteArrayViewVarHandle(long[].class, ByteOrder.LITTLE_ENDIAN);
+
+    private static final long HIGH_BITS = 0x8080808080808080L;
+
+    private static final long DIGIT_LOW = 0x3030303030303030L;
+
+    private static final long DIGIT_HIGH = 0x4646464646464646L;
+
+    /* Devolvido por decode para uma sequencia invalida. */
+    private static final int MALFORMED = -1;
+
+
+    private Utf8() {
+
+    }
+
+
+    /**
+     * @return se todos os caracteres sao de alguma das classes aceitas
+     * @throws IndexOutOfBoundsException se o trecho sair do array
+     */
+    static boolean matches(byte[] utf8, int offset, int length, int accept) {
+        Objects.checkFromIndexSize(offset, length, utf8.length);
+        int i = offset;
+        int end = offset + length;
+        if (accept == CharClasses.DIGIT) {
+            // 8 digitos ASCII por vez; a partir do primeiro bloco que
+            // falha, segue byte a byte, que aceita digitos fora do ASCII
+            while (i + 8 <= end && digits((long) LONGS.get(utf8, i))) {
+                i += 8;
+            }
+        }
+        while (i < end) {
+            int b = utf8[i];
+            if (b >= 0) {
+                if ((CharClasses.classOf(b) & accept) == 0) {
+                    return false;
+                }
+                i++;
+                continue;
+            }
+            long decoded = decode(utf8, i, end);
+            if (!accepts((int) decoded, accept)) {
+                return false;
+            }
+            i += (int) (decoded >>> 32);
+        }
+        return true;
+    }
+
+
+    static boolean matches(ByteBuffer utf8, int accept) {
+        if (utf8.hasArray()) {
+            return matches(utf8.array(), utf8.arrayOffset() + utf8.position(), utf8.remaining(), accept);
+        }
+        int i = utf8.position();
+        int end = utf8.limit();
+        if (accept == CharClasses.DIGIT) {
+            // a ordem dos bytes nao importa para digits
+            while (i + 8 <= end && digits(utf8.getLong(i))) {
+                i += 8;
+            }
+        }
+        while (i < end) {
+            int b = utf8.get(i);
+            if (b >= 0) {
+                if ((CharClasses.classOf(b) & accept) == 0) {
+                    return false;
+                }
+                i++;
+                continue;
+            }
+            long decoded = decode(utf8, i, end);
+            if (!accepts((int) decoded, accept)) {
+                return false;
+            }
+            i += (int) (decoded >>> 32);
+        }
+        return true;
+    }
+
+
+    /**
+     * @return se todos os caracteres sao espaco em branco, segundo
+     *     {@link Character#isWhitespace(int)}
+     * @throws IndexOutOfBoundsException se o trecho sair do array
+     */
+    static boolean isBlank(byte[] utf8, int offset, int length) {
+        Objects.checkFromIndexSize(offset, length, utf8.length);
+        int i = offset;
+        int end = offset + length;
+        while (i < end) {
+            int b = utf8[i];
+            if (b >= 0) {
+                if ((CharClasses.classOf(b) & CharClasses.WHITESPACE) == 0) {
+                    return false;
+                }
+                i++;
+                continue;
+            }
+            long decoded = decode(utf8, i, end);
+            if (!isWhitespace((int) decoded)) {
+                return false;
+            }
+            i += (int) (decoded >>> 32);
+        }
+        return true;
+    }
+
+
+    static boolean isBlank(ByteBuffer utf8) {
+        if (utf8.hasArray()) {
+            return isBlank(utf8.array(), utf8.arrayOffset() + utf8.position(), utf8.remaining());
+        }
+        int i = utf8.position();
+        int end = utf8.limit();
+        while (i < end) {
+            int b = utf8.get(i);
+            if (b >= 0) {
+                if ((CharClasses.classOf(b) & CharClasses.WHITESPACE) == 0) {
+                    return false;
+                }
+                i++;
+                continue;
+            }
+            long decoded = decode(utf8, i, end);
+            if (!isWhitespace((int) decoded)) {
+                return false;
+            }
+            i += (int) (decoded >>> 32);
+        }
+        return true;
+    }
+
+
+    /**
+     * O tamanho que <code>trim()</code> daria na String decodificada.
+     * Os caracteres ate ' ' que <code>trim()</code> remove sao sempre
+     * bytes ASCII, entao as pontas sao aparadas direto nos bytes.
+     *
+     * @throws IndexOutOfBoundsException se o trecho sair do array
+     */
+    static int trimmedLength(byte[] utf8, int offset, int length) {
+        Objects.checkFromIndexSize(offset, length, utf8.length);
+        int start = offset;
+        int end = offset + length;
+        while (start < end && (utf8[start] & 0xFF) <= ' ') {
+            start++;
+        }
+        while (end > start && (utf8[end - 1] & 0xFF) <= ' ') {
+            end--;
+        }
+        int count = 0;
+        int i = start;
+        for (; i + 8 <= end; i += 8) {
+            count += characters((long) LONGS.get(utf8, i));
+        }
+        for (; i < end; i++) {
+            count += characters(utf8[i]);
+        }
+        return count;
+    }
+
+
+    static int trimmedLength(ByteBuffer utf8) {
+        if (utf8.hasArray()) {
+            return trimmedLength(utf8.array(), utf8.arrayOffset() + utf8.position(), utf8.remaining());
+        }
+        int start = utf8.position();
+        int end = utf8.limit();
+        while (start < end && (utf8.get(start) & 0xFF) <= ' ') {
+            start++;
+        }
+        while (end > start && (utf8.get(end - 1) & 0xFF) <= ' ') {
+            end--;
+        }
+        int count = 0;
+        int i = start;
+        for (; i + 8 <= end; i += 8) {
+            count += characters(utf8.getLong(i));
+        }
+        for (; i < end; i++) {
+            count += characters(utf8.get(i));
+        }
+        return count;
+    }
+
+
+    /*
+     * 8 bytes, em qualquer ordem: um byte fora de '0'..'9' liga o seu
+     * bit alto na subtracao ou na soma, e um byte a partir de 0x80
+     * tambem. O vai-um so pode vir de um byte que ja falhou.
+     */
+    private static boolean digits(long w) {
+        return (((w - DIGIT_LOW) | (w + DIGIT_HIGH)) & HIGH_BITS) == 0;
+    }
+
+
+    /*
+     * Quantos chars da String os 8 bytes somam: 8, menos os bytes de
+     * continuacao (10xxxxxx), mais os que abrem 4 bytes (1111xxxx).
+     * Deslocar para a esquerda traz o bit 6 (e o 5 e o 4) de cada
+     * byte para o bit 7 do mesmo byte.
+     */
+    private static int characters(long w) {
+        if ((w & HIGH_BITS) == 0) {
+            return 8;
+        }
+        long continuation = w & ~(w << 1) & HIGH_BITS;
+        long four = w & (w << 1) & (w << 2) & (w << 3) & HIGH_BITS;
+        return 8 - Long.bitCount(continuation) + Long.bitCount(four);
+    }
+
+
+    private static int characters(byte b) {
+        if ((b & 0xC0) == 0x80) {
+            return 0;
+        }
+        return (b & 0xF0) == 0xF0 ? 2 : 1;
+    }
+
+
+    private static boolean accepts(int codePoint, int accept) {
+        return codePoint != MALFORMED && CharClasses.accepts(codePoint, accept);
+    }
+
+
+    private static boolean isWhitespace(int codePoint) {
+        return codePoint != MALFORMED && Character.isWhitespace(codePoint);
+    }
+
+
+    /*
+     * Decodifica a sequencia multibyte que comeca em i. Devolve o
+     * tamanho em bytes nos 32 bits altos e o code point (ou MALFORMED,
+     * com tamanho 1) nos baixos. Sequencias longas demais, surrogates
+     * e valores acima de U+10FFFF sao invalidos, como no decodificador
+     * do JDK.
+     */
+    private static long decode(byte[] utf8, int i, int end) {
+        int b0 = utf8[i] & 0xFF;
+        int b1 = i + 1 < end ? utf8[i + 1] & 0xFF : 0;
+        int b2 = i + 2 < end ? utf8[i + 2] & 0xFF : 0;
+        int b3 = i + 3 < end ? utf8[i + 3] & 0xFF : 0;
+        return decode(b0, b1, b2, b3);
+    }
+
+
+    private static long decode(ByteBuffer utf8, int i, int end) {
+        int b0 = utf8.get(i) & 0xFF;
+        int b1 = i + 1 < end ? utf8.get(i + 1) & 0xFF : 0;
+        int b2 = i + 2 < end ? utf8.get(i + 2) & 0xFF : 0;
+        int b3 = i + 3 < end ? utf8.get(i + 3) & 0xFF : 0;
+        return decode(b0, b1, b2, b3);
+    }
+
+
+    /*
+     * Os bytes que faltam no fim da entrada chegam como 0, que nao e
+     * byte de continuacao.
+     */
+    private static long decode(int b0, int b1, int b2, int b3) {
+        if (b0 >= 0xC2 && b0 <= 0xDF) {
+            if (continuation(b1)) {
+                return 2L << 32 | ((b0 & 0x1F) << 6 | (b1 & 0x3F));
+            }
+        } else if (b0 >= 0xE0 && b0 <= 0xEF) {
+            int low = b0 == 0xE0 ? 0xA0 : 0x80;
+            int high = b0 == 0xED ? 0x9F : 0xBF;
+            if (b1 >= low && b1 <= high && continuation(b2)) {
+                return 3L << 32 | ((b0 & 0x0F) << 12 | (b1 & 0x3F) << 6 | (b2 & 0x3F));
+            }
+        } else if (b0 >= 0xF0 && b0 <= 0xF4) {
+            int low = b0 == 0xF0 ? 0x90 : 0x80;
+            int high = b0 == 0xF4 ? 0x8F : 0xBF;
+            if (b1 >= low && b1 <= high && continuation(b2) && continuation(b3)) {
+                return 4L << 32 | ((b0 & 0x07) << 18 | (b1 & 0x3F) << 12 | (b2 & 0x3F) << 6 | (b3 & 0x3F));
+            }
+        }
+        return 1L << 32 | (MALFORMED & 0xFFFFFFFFL);
+    }
+
+
+    private static boolean continuation(int b) {
+        return (b & 0xC0) == 0x80;
+    }
+}
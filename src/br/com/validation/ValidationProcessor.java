@@ -0,0 +1,565 @@
+package br.com.validation;
+
+import java.time.Duration;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Flow;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.SubmissionPublisher;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Predicate;
+
+/**
+ * Um estagio de validacao para pipelines <code>java.util.concurrent.Flow</code>:
+ * recebe registros de um publisher, valida em lotes numa pool limitada
+ * e entrega os validos aos seus assinantes e os recusados aos de
+ * {@link #rejected()}.
+ *
+ * <pre>
+ * ValidationProcessor&lt;String&gt; cpf = ValidationProcessor.builder(Documents::isCpf).build();
+ * cpf.subscribe(valid);
+ * cpf.rejected().subscribe(deadLetters);
+ * source.subscribe(cpf);
+ * </pre>
+ *
+ * O processador pede ao publisher de cima no maximo
+ * <code>batchSize * 2 * parallelism</code> registros alem dos ja
+ * entregues, e so pede mais depois de entregar um lote. A entrega
+ * espera a demanda dos assinantes de baixo (com o buffer de cada um,
+ * {@link Flow#defaultBufferSize()} por padrao), entao um assinante
+ * lento segura o fluxo inteiro em vez de acumular registros. Os
+ * registros saem na ordem em que chegaram.
+ *
+ * Um lote e validado quando enche, quando tudo o que foi pedido ja
+ * chegou ou quando o seu primeiro registro espera ha
+ * {@link Builder#maxDelay(Duration) maxDelay} (10 ms por padrao): uma
+ * fonte que manda poucos registros e para nao os deixa presos no lote
+ * em formacao.
+ *
+ * As saidas funcionam como um <code>SubmissionPublisher</code>: os
+ * registros entregues antes de haver assinantes sao descartados, entao
+ * assine as saidas antes de assinar o processador na fonte.
+ *
+ * Nao ha threads virtuais no Java 17: a validacao roda num pool fixo de
+ * <code>parallelism</code> threads do proprio processador, ou no
+ * {@link Builder#executor(Executor) executor} informado, que pode ser
+ * um de threads virtuais em versoes mais novas.
+ */
+public final class ValidationProcessor<T> implements Flow.Processor<T, T>, AutoCloseable {
+
+    private final Predicate<? super T> rule;
+    private final int batchSize;
+    private final int capacity;
+    private final Executor executor;
+    private final ExecutorService ownExecutor;
+    private final long maxDelayNanos;
+    private final ScheduledThreadPoolExecutor timer;
+    private final SubmissionPublisher<T> valid;
+    private final SubmissionPublisher<T> rejected;
+
+    private final ConcurrentLinkedQueue<Batch> pending = new ConcurrentLinkedQueue<Batch>();
+    private final AtomicInteger wip = new AtomicInteger();
+    private final AtomicLong outstanding = new AtomicLong();
+    private final AtomicLong queued = new AtomicLong();
+    private final LongAdder received = new LongAdder();
+    private final LongAdder validCount = new LongAdder();
+    private final LongAdder rejectedCount = new LongAdder();
+    private final LongAdder batches = new LongAdder();
+
+    private volatile Flow.Subscription upstream;
+    private volatile boolean completed;
+    private volatile Throwable error;
+    private volatile long firstNanos;
+    private volatile long lastNanos;
+
+    // o lote em formacao e disputado por onNext e pelo timer do maxDelay
+    private final ReentrantLock lock = new ReentrantLock();
+    private volatile Batch current;
+
+
+    private ValidationProcessor(Builder<T> builder) {
+        this.rule = builder.rule;
+        this.batchSize = builder.batchSize;
+        this.capacity = builder.batchSize * builder.parallelism * 2;
+        if (builder.executor != null) {
+            this.executor = builder.executor;
+            this.ownExecutor = null;
+        } else {
+            this.ownExecutor = Executors.newFixedThreadPool(builder.parallelism, runnable -> {
+                Thread thread = new Thread(runnable, "validation-processor");
+                thread.setDaemon(true);
+                return thread;
+            });
+            this.executor = ownExecutor;
+        }
+        this.maxDelayNanos = builder.maxDelay.toNanos();
+        this.timer = new ScheduledThreadPoolExecutor(1, runnable -> {
+            Thread thread = new Thread(runnable, "validation-processor-timer");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.timer.setRemoveOnCancelPolicy(true);
+        this.valid = new SubmissionPublisher<T>(builder.deliveryExecutor, builder.bufferSize);
+        this.rejected = new SubmissionPublisher<T>(builder.deliveryExecutor, builder.bufferSize);
+    }
+
+
+    /**
+     * @param rule   o predicado; um registro e valido se ele devolver
+     *     <code>true</code>. E chamado por varias threads ao mesmo tempo.
+     */
+    public static <T> Builder<T> builder(Predicate<? super T> rule) {
+        if (rule == null) {
+            throw new NullPointerException("rule");
+        }
+        return new Builder<T>(rule);
+    }
+
+
+    /**
+     * Assina os registros validos.
+     */
+    @Override
+    public void subscribe(Flow.Subscriber<? super T> subscriber) {
+        valid.subscribe(subscriber);
+    }
+
+
+    /**
+     * @return o publisher dos registros recusados
+     */
+    public Flow.Publisher<T> rejected() {
+        return rejected::subscribe;
+    }
+
+
+    @Override
+    public void onSubscribe(Flow.Subscription subscription) {
+        if (upstream != null) {
+            subscription.cancel();
+            return;
+        }
+        upstream = subscription;
+        outstanding.set(capacity);
+        subscription.request(capacity);
+    }
+
+
+    @Override
+    public void onNext(T item) {
+        if (item == null) {
+            throw new NullPointerException("item");
+        }
+        long now = System.nanoTime();
+        if (firstNanos == 0) {
+            firstNanos = now;
+        }
+        received.increment();
+        queued.incrementAndGet();
+        Batch full = null;
+        lock.lock();
+        try {
+            Batch batch = current;
+            if (batch == null) {
+                batch = new Batch(batchSize);
+                current = batch;
+                schedule(batch);
+            }
+            batch.items[batch.size++] = item;
+            // lote cheio, ou tudo o que foi pedido ja chegou
+            if (outstanding.decrementAndGet() == 0 || batch.size == batchSize) {
+                full = take();
+            }
+        } finally {
+            lock.unlock();
+        }
+        if (full != null) {
+            dispatch(full);
+        }
+    }
+
+
+    @Override
+    public void onError(Throwable throwable) {
+        flush();
+        error = throwable;
+        completed = true;
+        drain();
+    }
+
+
+    @Override
+    public void onComplete() {
+        flush();
+        completed = true;
+        drain();
+    }
+
+
+    /**
+     * Cancela a assinatura de cima, fecha as saidas e, se o pool e do
+     * processador, encerra o pool. Registros ainda em validacao sao
+     * descartados.
+     */
+    @Override
+    public void close() {
+        Flow.Subscription subscription = upstream;
+        if (subscription != null) {
+            subscription.cancel();
+        }
+        completed = true;
+        valid.close();
+        rejected.close();
+        timer.shutdownNow();
+        if (ownExecutor != null) {
+            ownExecutor.shutdownNow();
+        }
+    }
+
+
+    /**
+     * @return quantos registros chegaram
+     */
+    public long getReceived() {
+        return received.sum();
+    }
+
+
+    public long getValid() {
+        return validCount.sum();
+    }
+
+
+    public long getRejected() {
+        return rejectedCount.sum();
+    }
+
+
+    /**
+     * @return quantos lotes foram validados
+     */
+    public long getBatches() {
+        return batches.sum();
+    }
+
+
+    /**
+     * @return quantos registros chegaram e ainda nao foram entregues:
+     *     no lote em formacao, em validacao ou esperando a vez
+     */
+    public long getQueueDepth() {
+        return queued.get();
+    }
+
+
+    /**
+     * @return a maior quantidade de registros entregues e ainda nao
+     *     consumidos por um assinante das saidas
+     */
+    public int getSubscriberLag() {
+        return Math.max(valid.estimateMaximumLag(), rejected.estimateMaximumLag());
+    }
+
+
+    /**
+     * @return registros entregues por segundo, entre o primeiro que
+     *     chegou e o ultimo entregue
+     */
+    public double getThroughput() {
+        long first = firstNanos;
+        long last = lastNanos;
+        if (first == 0 || last <= first) {
+            return 0;
+        }
+        return (validCount.sum() + rejectedCount.sum()) * 1e9 / (last - first);
+    }
+
+
+    @Override
+    public String toString() {
+        return "ValidationProcessor[received=" + getReceived() + ", valid=" + getValid() + ", rejected=" + getRejected()
+            + ", queued=" + getQueueDepth() + ", batches=" + getBatches() + "]";
+    }
+
+
+    /*
+     * Tira o lote em formacao e o poe na fila de entrega, com o lock:
+     * assim a fila fica na ordem de chegada e quem ve current == null
+     * ja ve o lote na fila. So a validacao, em dispatch, fica para
+     * depois do lock. O timer do lote, se ainda nao disparou, e
+     * cancelado.
+     */
+    private Batch take() {
+        Batch batch = current;
+        if (batch == null) {
+            return null;
+        }
+        pending.add(batch);
+        current = null;
+        if (batch.linger != null) {
+            batch.linger.cancel(false);
+        }
+        return batch;
+    }
+
+
+    private void schedule(Batch batch) {
+        try {
+            batch.linger = timer.schedule(() -> linger(batch), maxDelayNanos, TimeUnit.NANOSECONDS);
+        } catch (RejectedExecutionException e) {
+            // processador fechado: o lote sai com onComplete, se sair
+        }
+    }
+
+
+    /*
+     * O maxDelay do lote venceu: se ele ainda esta em formacao, vai
+     * assim mesmo, incompleto.
+     */
+    private void linger(Batch batch) {
+        lock.lock();
+        try {
+            if (current != batch) {
+                return;
+            }
+            take();
+        } finally {
+            lock.unlock();
+        }
+        dispatch(batch);
+    }
+
+
+    private void flush() {
+        Batch batch;
+        lock.lock();
+        try {
+            batch = take();
+        } finally {
+            lock.unlock();
+        }
+        if (batch != null) {
+            dispatch(batch);
+        }
+    }
+
+
+    /*
+     * Valida um lote ja posto na fila por take().
+     */
+    private void dispatch(Batch batch) {
+        try {
+            executor.execute(batch);
+        } catch (RejectedExecutionException e) {
+            // pool encerrado ou cheio: valida aqui mesmo
+            batch.run();
+        }
+    }
+
+
+    /*
+     * Entrega os lotes prontos do inicio da fila, em ordem, e pede mais
+     * registros a cima. Uma thread por vez: quem chega enquanto outra
+     * entrega so marca que ha trabalho e sai.
+     */
+    private void drain() {
+        if (wip.getAndIncrement() != 0) {
+            return;
+        }
+        int missed = 1;
+        while (true) {
+            Batch batch;
+            while ((batch = pending.peek()) != null && batch.done) {
+                pending.poll();
+                publish(batch);
+            }
+            // current antes de pending: take() escreve na ordem inversa
+            if (completed && current == null && pending.isEmpty()) {
+                Throwable failure = error;
+                if (failure != null) {
+                    valid.closeExceptionally(failure);
+                    rejected.closeExceptionally(failure);
+                } else {
+                    valid.close();
+                    rejected.close();
+                }
+                timer.shutdown();
+                if (ownExecutor != null) {
+                    ownExecutor.shutdown();
+                }
+            }
+            missed = wip.addAndGet(-missed);
+            if (missed == 0) {
+                return;
+            }
+        }
+    }
+
+
+    @SuppressWarnings("unchecked")
+    private void publish(Batch batch) {
+        int accepted = 0;
+        for (int i = 0; i < batch.size; i++) {
+            T item = (T) batch.items[i];
+            batch.items[i] = null;
+            if ((batch.failures[i >>> 6] & (1L << i)) == 0) {
+                valid.submit(item);
+                accepted++;
+            } else {
+                rejected.submit(item);
+            }
+        }
+        validCount.add(accepted);
+        rejectedCount.add(batch.size - accepted);
+        batches.increment();
+        queued.addAndGet(-batch.size);
+        lastNanos = System.nanoTime();
+        Flow.Subscription subscription = upstream;
+        if (subscription != null && !completed) {
+            outstanding.addAndGet(batch.size);
+            subscription.request(batch.size);
+        }
+    }
+
+
+    private final class Batch implements Runnable {
+
+        final Object[] items;
+        final long[] failures;
+        int size;
+        ScheduledFuture<?> linger;
+        volatile boolean done;
+
+
+        Batch(int capacity) {
+            this.items = new Object[capacity];
+            this.failures = new long[(capacity + 63) >>> 6];
+        }
+
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public void run() {
+            for (int i = 0; i < size; i++) {
+                boolean ok;
+                try {
+                    ok = rule.test((T) items[i]);
+                } catch (RuntimeException e) {
+                    // uma regra que lanca excecao recusa o registro
+                    ok = false;
+                }
+                if (!ok) {
+                    failures[i >>> 6] |= 1L << i;
+                }
+            }
+            done = true;
+            drain();
+        }
+    }
+
+
+    public static final class Builder<T> {
+
+        /** Registros por lote, por padrao. */
+        public static final int DEFAULT_BATCH_SIZE = 256;
+
+        /** Espera maxima de um lote incompleto, por padrao. */
+        public static final Duration DEFAULT_MAX_DELAY = Duration.ofMillis(10);
+
+        private final Predicate<? super T> rule;
+        private int batchSize = DEFAULT_BATCH_SIZE;
+        private int parallelism = Runtime.getRuntime().availableProcessors();
+        private Executor executor;
+        private Executor deliveryExecutor = ForkJoinPool.commonPool();
+        private int bufferSize = Flow.defaultBufferSize();
+        private Duration maxDelay = DEFAULT_MAX_DELAY;
+
+
+        private Builder(Predicate<? super T> rule) {
+            this.rule = rule;
+        }
+
+
+        public Builder<T> batchSize(int size) {
+            if (size < 1) {
+                throw new IllegalArgumentException("The batch size must be positive.");
+            }
+            this.batchSize = size;
+            return this;
+        }
+
+
+        /**
+         * @param delay   quanto um lote incompleto espera, a partir do
+         *     seu primeiro registro, antes de ser validado assim mesmo
+         */
+        public Builder<T> maxDelay(Duration delay) {
+            if (delay == null) {
+                throw new NullPointerException("delay");
+            }
+            if (delay.isNegative() || delay.isZero()) {
+                throw new IllegalArgumentException("The maximum delay must be positive.");
+            }
+            this.maxDelay = delay;
+            return this;
+        }
+
+
+        /**
+         * @param threads   quantos lotes validar ao mesmo tempo; tambem
+         *     o tamanho do pool proprio, se nao houver executor
+         */
+        public Builder<T> parallelism(int threads) {
+            if (threads < 1) {
+                throw new IllegalArgumentException("The parallelism must be positive.");
+            }
+            this.parallelism = threads;
+            return this;
+        }
+
+
+        /**
+         * Valida os lotes neste executor em vez de num pool proprio. O
+         * processador nao o encerra.
+         */
+        public Builder<T> executor(Executor executor) {
+            if (executor == null) {
+                throw new NullPointerException("executor");
+            }
+            this.executor = executor;
+            return this;
+        }
+
+
+        /**
+         * @param executor     onde as saidas chamam os assinantes
+         * @param bufferSize   quantos registros cada assinante pode ter
+         *     pendentes antes da entrega esperar por ele
+         */
+        public Builder<T> delivery(Executor executor, int bufferSize) {
+            if (executor == null) {
+                throw new NullPointerException("executor");
+            }
+            if (bufferSize < 1) {
+                throw new IllegalArgumentException("The buffer size must be positive.");
+            }
+            this.deliveryExecutor = executor;
+            this.bufferSize = bufferSize;
+            return this;
+        }
+
+
+        public ValidationProcessor<T> build() {
+            return new ValidationProcessor<T>(this);
+        }
+    }
+}
@@ -1,8 +1,13 @@
 package br.com.validation;
 
 
+import java.nio.ByteBuffer;
 import java.text.ParseException;
 import java.text.SimpleDateFormat;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.TemporalAccessor;
 import java.util.Calendar;
 import java.util.Date;
 import java.util.GregorianCalendar;
@@ -282,12 +287,7 @@ public final class Validations {
         if (str == null) {
             return false;
         }
-        for (int i = str.length() - 1; i >= 0; i--) {
-            if (!Character.isLetter(str.charAt(i))) {
-                return false;
-            }
-        }
-        return true;
+        return CharClasses.matches(str, CharClasses.LETTER);
     }
 
 
@@ -315,13 +315,7 @@ public final class Validations {
         if (str == null) {
             return false;
         }
-        for (int i = str.length() - 1; i >= 0; i--) {
-            char c = str.charAt(i);
-            if (!Character.isLetter(c) && (c != ' ')) {
-                return false;
-            }
-        }
-        return true;
+        return CharClasses.matches(str, CharClasses.LETTER | CharClasses.SPACE);
     }
 
 
@@ -353,12 +347,7 @@ public final class Validations {
         if (str == null) {
             return false;
         }
-        for (int i = str.length() - 1; i >= 0; i--) {
-            if (!Character.isLetterOrDigit(str.charAt(i))) {
-                return false;
-            }
-        }
-        return true;
+        return CharClasses.matches(str, CharClasses.LETTER | CharClasses.DIGIT);
     }
 
 
@@ -391,13 +380,7 @@ public final class Validations {
         if (str == null) {
             return false;
         }
-        for (int i = str.length() - 1; i >= 0; i--) {
-            char c = str.charAt(i);
-            if (!Character.isLetterOrDigit(c) && (c != ' ')) {
-                return false;
-            }
-        }
-        return true;
+        return CharClasses.matches(str, CharClasses.LETTER | CharClasses.DIGIT | CharClasses.SPACE);
     }
 
 
@@ -431,12 +414,7 @@ public final class Validations {
         if (str == null) {
             return false;
         }
-        for (int i = str.length() - 1; i >= 0; i--) {
-            if (!Character.isDigit(str.charAt(i))) {
-                return false;
-            }
-        }
-        return true;
+        return CharClasses.matches(str, CharClasses.DIGIT);
     }
 
 
@@ -471,13 +449,494 @@ public final class Validations {
         if (str == null) {
             return false;
         }
-        for (int i = str.length() - 1; i >= 0; i--) {
-            char c = str.charAt(i);
-            if (!Character.isDigit(c) && (c != ' ')) {
-                return false;
-            }
+        return CharClasses.matches(str, CharClasses.DIGIT | CharClasses.SPACE);
+    }
+
+
+    /**
+     * Verso de {@link #isOnlyLetters(String)} para qualquer
+     * <code>CharSequence</code>, como <code>StringBuilder</code> ou
+     * <code>CharBuffer</code>, sem convert-la em String.
+     *
+     * @param str   a sequncia para checagem, podendo ser <code>null</code>
+     * @return <code>true</code> se a sequncia contm somente letras
+     */
+    public static boolean isOnlyLetters(CharSequence str) {
+        if (str == null) {
+            return false;
         }
-        return true;
+        return CharClasses.matches(str, CharClasses.LETTER);
+    }
+
+    /**
+     * Verso de {@link #isLettersSpace(String)} para qualquer
+     * <code>CharSequence</code>, como <code>StringBuilder</code> ou
+     * <code>CharBuffer</code>, sem convert-la em String.
+     *
+     * @param str   a sequncia para checagem, podendo ser <code>null</code>
+     * @return <code>true</code> se a sequncia contm somente letras e espao
+     */
+    public static boolean isLettersSpace(CharSequence str) {
+        if (str == null) {
+            return false;
+        }
+        return CharClasses.matches(str, CharClasses.LETTER | CharClasses.SPACE);
+    }
+
+    /**
+     * Verso de {@link #isLettersNumbers(String)} para qualquer
+     * <code>CharSequence</code>, como <code>StringBuilder</code> ou
+     * <code>CharBuffer</code>, sem convert-la em String.
+     *
+     * @param str   a sequncia para checagem, podendo ser <code>null</code>
+     * @return <code>true</code> se a sequncia contm somente letras ou nmeros
+     */
+    public static boolean isLettersNumbers(CharSequence str) {
+        if (str == null) {
+            return false;
+        }
+        return CharClasses.matches(str, CharClasses.LETTER | CharClasses.DIGIT);
+    }
+
+    /**
+     * Verso de {@link #isAlphanumericSpace(String)} para qualquer
+     * <code>CharSequence</code>, como <code>StringBuilder</code> ou
+     * <code>CharBuffer</code>, sem convert-la em String.
+     *
+     * @param str   a sequncia para checagem, podendo ser <code>null</code>
+     * @return <code>true</code> se a sequncia contm somente letras, nmeros ou espao
+     */
+    public static boolean isAlphanumericSpace(CharSequence str) {
+        if (str == null) {
+            return false;
+        }
+        return CharClasses.matches(str, CharClasses.LETTER | CharClasses.DIGIT | CharClasses.SPACE);
+    }
+
+    /**
+     * Verso de {@link #isNumeric(String)} para qualquer
+     * <code>CharSequence</code>, como <code>StringBuilder</code> ou
+     * <code>CharBuffer</code>, sem convert-la em String.
+     *
+     * @param str   a sequncia para checagem, podendo ser <code>null</code>
+     * @return <code>true</code> se a sequncia contm somente dgitos
+     */
+    public static boolean isNumeric(CharSequence str) {
+        if (str == null) {
+            return false;
+        }
+        return CharClasses.matches(str, CharClasses.DIGIT);
+    }
+
+    /**
+     * Verso de {@link #isNumericSpace(String)} para qualquer
+     * <code>CharSequence</code>, como <code>StringBuilder</code> ou
+     * <code>CharBuffer</code>, sem convert-la em String.
+     *
+     * @param str   a sequncia para checagem, podendo ser <code>null</code>
+     * @return <code>true</code> se a sequncia contm somente dgitos ou espao
+     */
+    public static boolean isNumericSpace(CharSequence str) {
+        if (str == null) {
+            return false;
+        }
+        return CharClasses.matches(str, CharClasses.DIGIT | CharClasses.SPACE);
+    }
+
+
+    // Validacao de bytes UTF-8 *************************************************
+    //
+    // As verses abaixo recebem o texto ainda em UTF-8, num byte[] com
+    // offset e tamanho ou entre a posio e o limite de um ByteBuffer
+    // (direto ou no, sem alterar a posio), e do o mesmo resultado
+    // da String decodificada sem cri-la.
+
+
+    /**
+     * Verso de {@link #isBlank(String)} para UTF-8.
+     *
+     * @param utf8     o texto em UTF-8, podendo ser <code>null</code>
+     * @param offset   o incio do texto no array
+     * @param length   o tamanho do texto em bytes
+     * @return o mesmo que {@link #isBlank(String)} com o
+     *     texto decodificado
+     * @throws IndexOutOfBoundsException se o trecho sair do array
+     */
+    public static boolean isBlank(byte[] utf8, int offset, int length) {
+        if (utf8 == null) {
+            return true;
+        }
+        return Utf8.isBlank(utf8, offset, length);
+    }
+
+
+    /**
+     * Verso de {@link #isBlank(String)} para UTF-8.
+     *
+     * @param utf8   o texto em UTF-8, da posio ao limite, podendo
+     *     ser <code>null</code>
+     * @return o mesmo que {@link #isBlank(String)} com o
+     *     texto decodificado
+     */
+    public static boolean isBlank(ByteBuffer utf8) {
+        if (utf8 == null) {
+            return true;
+        }
+        return Utf8.isBlank(utf8);
+    }
+
+
+    /**
+     * Verso de {@link #isNotBlank(String)} para UTF-8.
+     *
+     * @param utf8     o texto em UTF-8, podendo ser <code>null</code>
+     * @param offset   o incio do texto no array
+     * @param length   o tamanho do texto em bytes
+     * @return o mesmo que {@link #isNotBlank(String)} com o
+     *     texto decodificado
+     * @throws IndexOutOfBoundsException se o trecho sair do array
+     */
+    public static boolean isNotBlank(byte[] utf8, int offset, int length) {
+        if (utf8 == null) {
+            return false;
+        }
+        return !Utf8.isBlank(utf8, offset, length);
+    }
+
+
+    /**
+     * Verso de {@link #isNotBlank(String)} para UTF-8.
+     *
+     * @param utf8   o texto em UTF-8, da posio ao limite, podendo
+     *     ser <code>null</code>
+     * @return o mesmo que {@link #isNotBlank(String)} com o
+     *     texto decodificado
+     */
+    public static boolean isNotBlank(ByteBuffer utf8) {
+        if (utf8 == null) {
+            return false;
+        }
+        return !Utf8.isBlank(utf8);
+    }
+
+
+    /**
+     * Verso de {@link #hasMinimumLength(String, int)} para UTF-8.
+     * O tamanho  contado em caracteres, no em bytes.
+     *
+     * @param utf8     o texto em UTF-8, podendo ser <code>null</code>
+     * @param offset   o incio do texto no array
+     * @param length   o tamanho do texto em bytes
+     * @param min      o tamanho mnimo
+     * @return o mesmo que {@link #hasMinimumLength(String, int)} com o
+     *     texto decodificado
+     * @throws IndexOutOfBoundsException se o trecho sair do array
+     */
+    public static boolean hasMinimumLength(byte[] utf8, int offset, int length, int min) {
+        int trimmed = utf8 == null ? 0 : Utf8.trimmedLength(utf8, offset, length);
+        return min <= trimmed;
+    }
+
+
+    /**
+     * Verso de {@link #hasMinimumLength(String, int)} para UTF-8.
+     * O tamanho  contado em caracteres, no em bytes.
+     *
+     * @param utf8   o texto em UTF-8, da posio ao limite, podendo
+     *     ser <code>null</code>
+     * @param min    o tamanho mnimo
+     * @return o mesmo que {@link #hasMinimumLength(String, int)} com o
+     *     texto decodificado
+     */
+    public static boolean hasMinimumLength(ByteBuffer utf8, int min) {
+        int trimmed = utf8 == null ? 0 : Utf8.trimmedLength(utf8);
+        return min <= trimmed;
+    }
+
+
+    /**
+     * Verso de {@link #hasMaximumLength(String, int)} para UTF-8.
+     * O tamanho  contado em caracteres, no em bytes.
+     *
+     * @param utf8     o texto em UTF-8, podendo ser <code>null</code>
+     * @param offset   o incio do texto no array
+     * @param length   o tamanho do texto em bytes
+     * @param max      o tamanho mximo
+     * @return o mesmo que {@link #hasMaximumLength(String, int)} com o
+     *     texto decodificado
+     * @throws IndexOutOfBoundsException se o trecho sair do array
+     */
+    public static boolean hasMaximumLength(byte[] utf8, int offset, int length, int max) {
+        int trimmed = utf8 == null ? 0 : Utf8.trimmedLength(utf8, offset, length);
+        return trimmed <= max;
+    }
+
+
+    /**
+     * Verso de {@link #hasMaximumLength(String, int)} para UTF-8.
+     * O tamanho  contado em caracteres, no em bytes.
+     *
+     * @param utf8   o texto em UTF-8, da posio ao limite, podendo
+     *     ser <code>null</code>
+     * @param max    o tamanho mximo
+     * @return o mesmo que {@link #hasMaximumLength(String, int)} com o
+     *     texto decodificado
+     */
+    public static boolean hasMaximumLength(ByteBuffer utf8, int max) {
+        int trimmed = utf8 == null ? 0 : Utf8.trimmedLength(utf8);
+        return trimmed <= max;
+    }
+
+
+    /**
+     * Verso de {@link #hasBoundedLength(String, int, int)} para UTF-8.
+     * O tamanho  contado em caracteres, no em bytes.
+     *
+     * @param utf8     o texto em UTF-8, podendo ser <code>null</code>
+     * @param offset   o incio do texto no array
+     * @param length   o tamanho do texto em bytes
+     * @param min      o tamanho mnimo
+     * @param max      o tamanho mximo
+     * @return o mesmo que {@link #hasBoundedLength(String, int, int)} com o
+     *     texto decodificado
+     * @throws IndexOutOfBoundsException se o trecho sair do array
+     * @throws IllegalArgumentException se min > max
+     */
+    public static boolean hasBoundedLength(byte[] utf8, int offset, int length, int min, int max) {
+        if (min > max) {
+            throw new IllegalArgumentException(
+                "The minimum length must be less than or equal to the maximum length.");
+        }
+        int trimmed = utf8 == null ? 0 : Utf8.trimmedLength(utf8, offset, length);
+        return (min <= trimmed) && (trimmed <= max);
+    }
+
+
+    /**
+     * Verso de {@link #hasBoundedLength(String, int, int)} para UTF-8.
+     * O tamanho  contado em caracteres, no em bytes.
+     *
+     * @param utf8   o texto em UTF-8, da posio ao limite, podendo
+     *     ser <code>null</code>
+     * @param min    o tamanho mnimo
+     * @param max    o tamanho mximo
+     * @return o mesmo que {@link #hasBoundedLength(String, int, int)} com o
+     *     texto decodificado
+     * @throws IllegalArgumentException se min > max
+     */
+    public static boolean hasBoundedLength(ByteBuffer utf8, int min, int max) {
+        if (min > max) {
+            throw new IllegalArgumentException(
+                "The minimum length must be less than or equal to the maximum length.");
+        }
+        int trimmed = utf8 == null ? 0 : Utf8.trimmedLength(utf8);
+        return (min <= trimmed) && (trimmed <= max);
+    }
+
+
+    /**
+     * Verso de {@link #isOnlyLetters(String)} para UTF-8.
+     *
+     * @param utf8     o texto em UTF-8, podendo ser <code>null</code>
+     * @param offset   o incio do texto no array
+     * @param length   o tamanho do texto em bytes
+     * @return o mesmo que {@link #isOnlyLetters(String)} com o
+     *     texto decodificado
+     * @throws IndexOutOfBoundsException se o trecho sair do array
+     */
+    public static boolean isOnlyLetters(byte[] utf8, int offset, int length) {
+        if (utf8 == null) {
+            return false;
+        }
+        return Utf8.matches(utf8, offset, length, CharClasses.LETTER);
+    }
+
+
+    /**
+     * Verso de {@link #isOnlyLetters(String)} para UTF-8.
+     *
+     * @param utf8   o texto em UTF-8, da posio ao limite, podendo
+     *     ser <code>null</code>
+     * @return o mesmo que {@link #isOnlyLetters(String)} com o
+     *     texto decodificado
+     */
+    public static boolean isOnlyLetters(ByteBuffer utf8) {
+        if (utf8 == null) {
+            return false;
+        }
+        return Utf8.matches(utf8, CharClasses.LETTER);
+    }
+
+
+    /**
+     * Verso de {@link #isLettersSpace(String)} para UTF-8.
+     *
+     * @param utf8     o texto em UTF-8, podendo ser <code>null</code>
+     * @param offset   o incio do texto no array
+     * @param length   o tamanho do texto em bytes
+     * @return o mesmo que {@link #isLettersSpace(String)} com o
+     *     texto decodificado
+     * @throws IndexOutOfBoundsException se o trecho sair do array
+     */
+    public static boolean isLettersSpace(byte[] utf8, int offset, int length) {
+        if (utf8 == null) {
+            return false;
+        }
+        return Utf8.matches(utf8, offset, length, CharClasses.LETTER | CharClasses.SPACE);
+    }
+
+
+    /**
+     * Verso de {@link #isLettersSpace(String)} para UTF-8.
+     *
+     * @param utf8   o texto em UTF-8, da posio ao limite, podendo
+     *     ser <code>null</code>
+     * @return o mesmo que {@link #isLettersSpace(String)} com o
+     *     texto decodificado
+     */
+    public static boolean isLettersSpace(ByteBuffer utf8) {
+        if (utf8 == null) {
+            return false;
+        }
+        return Utf8.matches(utf8, CharClasses.LETTER | CharClasses.SPACE);
+    }
+
+
+    /**
+     * Verso de {@link #isLettersNumbers(String)} para UTF-8.
+     *
+     * @param utf8     o texto em UTF-8, podendo ser <code>null</code>
+     * @param offset   o incio do texto no array
+     * @param length   o tamanho do texto em bytes
+     * @return o mesmo que {@link #isLettersNumbers(String)} com o
+     *     texto decodificado
+     * @throws IndexOutOfBoundsException se o trecho sair do array
+     */
+    public static boolean isLettersNumbers(byte[] utf8, int offset, int length) {
+        if (utf8 == null) {
+            return false;
+        }
+        return Utf8.matches(utf8, offset, length, CharClasses.LETTER | CharClasses.DIGIT);
+    }
+
+
+    /**
+     * Verso de {@link #isLettersNumbers(String)} para UTF-8.
+     *
+     * @param utf8   o texto em UTF-8, da posio ao limite, podendo
+     *     ser <code>null</code>
+     * @return o mesmo que {@link #isLettersNumbers(String)} com o
+     *     texto decodificado
+     */
+    public static boolean isLettersNumbers(ByteBuffer utf8) {
+        if (utf8 == null) {
+            return false;
+        }
+        return Utf8.matches(utf8, CharClasses.LETTER | CharClasses.DIGIT);
+    }
+
+
+    /**
+     * Verso de {@link #isAlphanumericSpace(String)} para UTF-8.
+     *
+     * @param utf8     o texto em UTF-8, podendo ser <code>null</code>
+     * @param offset   o incio do texto no array
+     * @param length   o tamanho do texto em bytes
+     * @return o mesmo que {@link #isAlphanumericSpace(String)} com o
+     *     texto decodificado
+     * @throws IndexOutOfBoundsException se o trecho sair do array
+     */
+    public static boolean isAlphanumericSpace(byte[] utf8, int offset, int length) {
+        if (utf8 == null) {
+            return false;
+        }
+        return Utf8.matches(utf8, offset, length, CharClasses.LETTER | CharClasses.DIGIT | CharClasses.SPACE);
+    }
+
+
+    /**
+     * Verso de {@link #isAlphanumericSpace(String)} para UTF-8.
+     *
+     * @param utf8   o texto em UTF-8, da posio ao limite, podendo
+     *     ser <code>null</code>
+     * @return o mesmo que {@link #isAlphanumericSpace(String)} com o
+     *     texto decodificado
+     */
+    public static boolean isAlphanumericSpace(ByteBuffer utf8) {
+        if (utf8 == null) {
+            return false;
+        }
+        return Utf8.matches(utf8, CharClasses.LETTER | CharClasses.DIGIT | CharClasses.SPACE);
+    }
+
+
+    /**
+     * Verso de {@link #isNumeric(String)} para UTF-8.
+     * Os dgitos ASCII so conferidos 8 bytes por vez.
+     *
+     * @param utf8     o texto em UTF-8, podendo ser <code>null</code>
+     * @param offset   o incio do texto no array
+     * @param length   o tamanho do texto em bytes
+     * @return o mesmo que {@link #isNumeric(String)} com o
+     *     texto decodificado
+     * @throws IndexOutOfBoundsException se o trecho sair do array
+     */
+    public static boolean isNumeric(byte[] utf8, int offset, int length) {
+        if (utf8 == null) {
+            return false;
+        }
+        return Utf8.matches(utf8, offset, length, CharClasses.DIGIT);
+    }
+
+
+    /**
+     * Verso de {@link #isNumeric(String)} para UTF-8.
+     * Os dgitos ASCII so conferidos 8 bytes por vez.
+     *
+     * @param utf8   o texto em UTF-8, da posio ao limite, podendo
+     *     ser <code>null</code>
+     * @return o mesmo que {@link #isNumeric(String)} com o
+     *     texto decodificado
+     */
+    public static boolean isNumeric(ByteBuffer utf8) {
+        if (utf8 == null) {
+            return false;
+        }
+        return Utf8.matches(utf8, CharClasses.DIGIT);
+    }
+
+
+    /**
+     * Verso de {@link #isNumericSpace(String)} para UTF-8.
+     *
+     * @param utf8     o texto em UTF-8, podendo ser <code>null</code>
+     * @param offset   o incio do texto no array
+     * @param length   o tamanho do texto em bytes
+     * @return o mesmo que {@link #isNumericSpace(String)} com o
+     *     texto decodificado
+     * @throws IndexOutOfBoundsException se o trecho sair do array
+     */
+    public static boolean isNumericSpace(byte[] utf8, int offset, int length) {
+        if (utf8 == null) {
+            return false;
+        }
+        return Utf8.matches(utf8, offset, length, CharClasses.DIGIT | CharClasses.SPACE);
+    }
+
+
+    /**
+     * Verso de {@link #isNumericSpace(String)} para UTF-8.
+     *
+     * @param utf8   o texto em UTF-8, da posio ao limite, podendo
+     *     ser <code>null</code>
+     * @return o mesmo que {@link #isNumericSpace(String)} com o
+     *     texto decodificado
+     */
+    public static boolean isNumericSpace(ByteBuffer utf8) {
+        if (utf8 == null) {
+            return false;
+        }
+        return Utf8.matches(utf8, CharClasses.DIGIT | CharClasses.SPACE);
     }
 
 
@@ -491,10 +950,7 @@ public final class Validations {
      * @return <code>true</code> if in the past, <code>false</code> otherwise
      */
     public static boolean isPastDay(Date date) {
-        Calendar in = new GregorianCalendar();
-        in.setTime(date);
-        Calendar today = getRelativeCalendar( 0);
-        return in.before(today);
+        return DayClock.systemDefault().isPastDay(date.getTime());
     }
 
 
@@ -505,12 +961,7 @@ public final class Validations {
      * @return <code>true</code> if yesterday, <code>false</code> otherwise
      */
     public static boolean isYesterday(Date date) {
-        Calendar in = new GregorianCalendar();
-        in.setTime(date);
-        Calendar yesterday = getRelativeCalendar(-1);
-        Calendar today     = getRelativeCalendar( 0);
-        return !in.before(yesterday)
-             && in.before(today);
+        return DayClock.systemDefault().isYesterday(date.getTime());
     }
     
     /**Determina e retorna se uma data <code>Date</code>  
@@ -523,13 +974,7 @@ public final class Validations {
      * @auhtor Alexandre Belem
      */
     public static boolean isDaysPast(Date date, int days){
-    	Calendar in = new GregorianCalendar();
-    	in.setTime(date);
-    	Calendar daysPast = getRelativeCalendar(-days);
-    	Calendar today    = getRelativeCalendar( 0 );
-    	
-    	return !in.before(daysPast)
-    		&&  in.before(today);
+        return DayClock.systemDefault().isDaysPast(date.getTime(), days);
     }
     
     /**
@@ -541,12 +986,7 @@ public final class Validations {
      * @author Alexandre Belem
      */
     public static boolean isToday(Date date) {
-        GregorianCalendar in = new GregorianCalendar();
-        in.setTime(date);
-        Calendar today    = getRelativeCalendar( 0);
-        Calendar tomorrow = getRelativeCalendar(+1);
-        return !in.before(today)
-             && in.before(tomorrow);
+        return DayClock.systemDefault().isToday(date.getTime());
     }
 
 
@@ -557,12 +997,7 @@ public final class Validations {
      * @return <code>true</code> if tomorrow, <code>false</code> otherwise
      */
     public static boolean isTomorrow(Date date) {
-        GregorianCalendar in = new GregorianCalendar();
-        in.setTime(date);
-        Calendar tomorrow = getRelativeCalendar(+1);
-        Calendar dayAfter = getRelativeCalendar(+2);
-        return !in.before(tomorrow)
-             && in.before(dayAfter);
+        return DayClock.systemDefault().isTomorrow(date.getTime());
     }
 
 
@@ -574,10 +1009,227 @@ public final class Validations {
      * @return <code>true</code> if in the future, <code>false</code> otherwise
      */
     public static boolean isFutureDay(Date date) {
-        Calendar in = new GregorianCalendar();
-        in.setTime(date);
-        Calendar tomorrow = getRelativeCalendar(+1);
-        return !in.before(tomorrow);
+        return DayClock.systemDefault().isFutureDay(date.getTime());
+    }
+
+
+    /**
+     * Determina se o instante  de um dia anterior a hoje, pelo
+     * {@link DayClock#systemDefault() relgio padro}, sem criar objetos.
+     *
+     * @param millis   o instante em milissegundos desde a poca
+     * @return <code>true</code> se o instante  de um dia anterior a hoje
+     * @see DayClock
+     */
+    public static boolean isPastDay(long millis) {
+        return DayClock.systemDefault().isPastDay(millis);
+    }
+
+    /**
+     * Determina se o instante  de ontem, pelo
+     * {@link DayClock#systemDefault() relgio padro}, sem criar objetos.
+     *
+     * @param millis   o instante em milissegundos desde a poca
+     * @return <code>true</code> se o instante  de ontem
+     * @see DayClock
+     */
+    public static boolean isYesterday(long millis) {
+        return DayClock.systemDefault().isYesterday(millis);
+    }
+
+    /**
+     * Determina se o instante est entre <code>days</code> dias atrs e o incio de hoje, pelo
+     * {@link DayClock#systemDefault() relgio padro}, sem criar objetos.
+     *
+     * @param millis   o instante em milissegundos desde a poca
+     * @param days   quantos dias para trs
+     * @return <code>true</code> se o instante est entre <code>days</code> dias atrs e o incio de hoje
+     * @see DayClock
+     */
+    public static boolean isDaysPast(long millis, int days) {
+        return DayClock.systemDefault().isDaysPast(millis, days);
+    }
+
+    /**
+     * Determina se o instante  de hoje, pelo
+     * {@link DayClock#systemDefault() relgio padro}, sem criar objetos.
+     *
+     * @param millis   o instante em milissegundos desde a poca
+     * @return <code>true</code> se o instante  de hoje
+     * @see DayClock
+     */
+    public static boolean isToday(long millis) {
+        return DayClock.systemDefault().isToday(millis);
+    }
+
+    /**
+     * Determina se o instante  de amanh, pelo
+     * {@link DayClock#systemDefault() relgio padro}, sem criar objetos.
+     *
+     * @param millis   o instante em milissegundos desde a poca
+     * @return <code>true</code> se o instante  de amanh
+     * @see DayClock
+     */
+    public static boolean isTomorrow(long millis) {
+        return DayClock.systemDefault().isTomorrow(millis);
+    }
+
+    /**
+     * Determina se o instante  de amanh em diante, pelo
+     * {@link DayClock#systemDefault() relgio padro}, sem criar objetos.
+     *
+     * @param millis   o instante em milissegundos desde a poca
+     * @return <code>true</code> se o instante  de amanh em diante
+     * @see DayClock
+     */
+    public static boolean isFutureDay(long millis) {
+        return DayClock.systemDefault().isFutureDay(millis);
+    }
+
+    /**
+     * Determina se o instante  de um dia anterior a hoje, pelo
+     * {@link DayClock#systemDefault() relgio padro}, sem criar objetos.
+     *
+     * @param instant   o instante
+     * @return <code>true</code> se o instante  de um dia anterior a hoje
+     * @see DayClock
+     */
+    public static boolean isPastDay(Instant instant) {
+        return DayClock.systemDefault().isPastDay(instant);
+    }
+
+    /**
+     * Determina se o instante  de ontem, pelo
+     * {@link DayClock#systemDefault() relgio padro}, sem criar objetos.
+     *
+     * @param instant   o instante
+     * @return <code>true</code> se o instante  de ontem
+     * @see DayClock
+     */
+    public static boolean isYesterday(Instant instant) {
+        return DayClock.systemDefault().isYesterday(instant);
+    }
+
+    /**
+     * Determina se o instante est entre <code>days</code> dias atrs e o incio de hoje, pelo
+     * {@link DayClock#systemDefault() relgio padro}, sem criar objetos.
+     *
+     * @param instant   o instante
+     * @param days   quantos dias para trs
+     * @return <code>true</code> se o instante est entre <code>days</code> dias atrs e o incio de hoje
+     * @see DayClock
+     */
+    public static boolean isDaysPast(Instant instant, int days) {
+        return DayClock.systemDefault().isDaysPast(instant, days);
+    }
+
+    /**
+     * Determina se o instante  de hoje, pelo
+     * {@link DayClock#systemDefault() relgio padro}, sem criar objetos.
+     *
+     * @param instant   o instante
+     * @return <code>true</code> se o instante  de hoje
+     * @see DayClock
+     */
+    public static boolean isToday(Instant instant) {
+        return DayClock.systemDefault().isToday(instant);
+    }
+
+    /**
+     * Determina se o instante  de amanh, pelo
+     * {@link DayClock#systemDefault() relgio padro}, sem criar objetos.
+     *
+     * @param instant   o instante
+     * @return <code>true</code> se o instante  de amanh
+     * @see DayClock
+     */
+    public static boolean isTomorrow(Instant instant) {
+        return DayClock.systemDefault().isTomorrow(instant);
+    }
+
+    /**
+     * Determina se o instante  de amanh em diante, pelo
+     * {@link DayClock#systemDefault() relgio padro}, sem criar objetos.
+     *
+     * @param instant   o instante
+     * @return <code>true</code> se o instante  de amanh em diante
+     * @see DayClock
+     */
+    public static boolean isFutureDay(Instant instant) {
+        return DayClock.systemDefault().isFutureDay(instant);
+    }
+
+    /**
+     * Determina se a data  de um dia anterior a hoje, pelo
+     * {@link DayClock#systemDefault() relgio padro}, sem criar objetos.
+     *
+     * @param date   a data
+     * @return <code>true</code> se a data  de um dia anterior a hoje
+     * @see DayClock
+     */
+    public static boolean isPastDay(LocalDate date) {
+        return DayClock.systemDefault().isPastDay(date);
+    }
+
+    /**
+     * Determina se a data  de ontem, pelo
+     * {@link DayClock#systemDefault() relgio padro}, sem criar objetos.
+     *
+     * @param date   a data
+     * @return <code>true</code> se a data  de ontem
+     * @see DayClock
+     */
+    public static boolean isYesterday(LocalDate date) {
+        return DayClock.systemDefault().isYesterday(date);
+    }
+
+    /**
+     * Determina se a data est entre <code>days</code> dias atrs e o incio de hoje, pelo
+     * {@link DayClock#systemDefault() relgio padro}, sem criar objetos.
+     *
+     * @param date   a data
+     * @param days   quantos dias para trs
+     * @return <code>true</code> se a data est entre <code>days</code> dias atrs e o incio de hoje
+     * @see DayClock
+     */
+    public static boolean isDaysPast(LocalDate date, int days) {
+        return DayClock.systemDefault().isDaysPast(date, days);
+    }
+
+    /**
+     * Determina se a data  de hoje, pelo
+     * {@link DayClock#systemDefault() relgio padro}, sem criar objetos.
+     *
+     * @param date   a data
+     * @return <code>true</code> se a data  de hoje
+     * @see DayClock
+     */
+    public static boolean isToday(LocalDate date) {
+        return DayClock.systemDefault().isToday(date);
+    }
+
+    /**
+     * Determina se a data  de amanh, pelo
+     * {@link DayClock#systemDefault() relgio padro}, sem criar objetos.
+     *
+     * @param date   a data
+     * @return <code>true</code> se a data  de amanh
+     * @see DayClock
+     */
+    public static boolean isTomorrow(LocalDate date) {
+        return DayClock.systemDefault().isTomorrow(date);
+    }
+
+    /**
+     * Determina se a data  de amanh em diante, pelo
+     * {@link DayClock#systemDefault() relgio padro}, sem criar objetos.
+     *
+     * @param date   a data
+     * @return <code>true</code> se a data  de amanh em diante
+     * @see DayClock
+     */
+    public static boolean isFutureDay(LocalDate date) {
+        return DayClock.systemDefault().isFutureDay(date);
     }
 
 
@@ -767,7 +1419,6 @@ public final class Validations {
 			dateBegin = dateFormat.parse(dataBegin);
 			dateEnd = dateFormat.parse(dataEnd);
 		}catch (ParseException e){
-			e.printStackTrace();
 			return false;
 		}
 		
@@ -810,4 +1461,96 @@ public final class Validations {
 		return true;
 	}
 
+	/**
+	 * Valida um intervalo de datas com a mscara dada, usando o
+	 * formatter compartilhado de {@link DateFormats#of(String)}.
+	 * As mscaras dd/MM/yyyy e yyyy-MM-dd so lidas sem criar objetos.
+	 *
+	 * <pre>
+	 * 	isIntervalDateValid("01/02/2007", "02/02/2007", "dd/MM/yyyy") = true;
+	 *  isIntervalDateValid("03/02/2007", "02/02/2007", "dd/MM/yyyy") = false;
+	 *  isIntervalDateValid("30/02/2007", "02/03/2007", "dd/MM/yyyy") = false;
+	 * </pre>
+	 * @param dataBegin
+	 * @param dataEnd
+	 * @param pattern a mscara, como "dd/MM/yyyy"
+	 * @return <code>true</code> se as duas datas so vlidas e dataEnd
+	 * no  anterior a dataBegin
+	 */
+	public static boolean isIntervalDateValid(String dataBegin, String dataEnd, String pattern){
+		long begin;
+		long end;
+		if ( DateFormats.DAY_MONTH_YEAR.equals(pattern) ){
+			begin = DateFormats.parseDayMonthYear(dataBegin, '/');
+			end = DateFormats.parseDayMonthYear(dataEnd, '/');
+		}else if ( DateFormats.ISO_DATE.equals(pattern) ){
+			begin = DateFormats.parseIsoDate(dataBegin);
+			end = DateFormats.parseIsoDate(dataEnd);
+		}else{
+			return isIntervalDateValid(dataBegin, dataEnd, DateFormats.of(pattern));
+		}
+		return begin != DateFormats.INVALID && end != DateFormats.INVALID && begin <= end;
+	}
+	
+	/**
+	 * Valida um intervalo de datas com um <code>DateTimeFormatter</code>,
+	 * que ao contrrio do SimpleDateFormat pode ser compartilhado entre
+	 * threads. Uma data invlida no lana nem imprime exceo.
+	 *
+	 * @param dataBegin
+	 * @param dataEnd
+	 * @param format
+	 * @return <code>true</code> se as duas datas so vlidas e dataEnd
+	 * no  anterior a dataBegin
+	 */
+	public static boolean isIntervalDateValid(String dataBegin, String dataEnd, DateTimeFormatter format){
+		TemporalAccessor begin = DateFormats.parse(dataBegin, format);
+		if ( begin == null ){
+			return false;
+		}
+		TemporalAccessor end = DateFormats.parse(dataEnd, format);
+		return end != null && DateFormats.compare(begin, end) <= 0;
+	}
+	
+	/**
+	 * Valida uma data com a mscara dada, usando o formatter
+	 * compartilhado de {@link DateFormats#of(String)}. A leitura 
+	 * estrita e o texto inteiro tem que seguir a mscara. As mscaras
+	 * dd/MM/yyyy e yyyy-MM-dd so lidas sem criar objetos.
+	 *
+	 * <pre>
+	 * 	   isValidDate("02/02/2007", "dd/MM/yyyy") = true;
+	 *     isValidDate("31/02/2007", "dd/MM/yyyy") = false;
+	 *     isValidDate("2007-02-02", "yyyy-MM-dd") = true;
+	 *     isValidDate(null, "dd/MM/yyyy") = false;
+	 * </pre>
+	 * @param data
+	 * @param pattern a mscara, como "dd/MM/yyyy"
+	 * @return boolean
+	 */
+	public static boolean isValidDate(String data, String pattern){
+		if ( DateFormats.DAY_MONTH_YEAR.equals(pattern) ){
+			return DateFormats.parseDayMonthYear(data, '/') != DateFormats.INVALID;
+		}
+		if ( DateFormats.ISO_DATE.equals(pattern) ){
+			return DateFormats.parseIsoDate(data) != DateFormats.INVALID;
+		}
+		return isValidDate(data, DateFormats.of(pattern));
+	}
+	
+	/**
+	 * Valida uma data com um <code>DateTimeFormatter</code>. Os erros
+	 * so detectados com <code>ParsePosition</code>, sem excees.
+	 *
+	 * @param data
+	 * @param format
+	 * @return boolean
+	 */
+	public static boolean isValidDate(String data, DateTimeFormatter format){
+		if ( isBlank(data) ){
+			return false;
+		}
+		return DateFormats.parse(data, format) != null;
+	}
+
 }
@@ -0,0 +1,320 @@
+package br.com.validation;
+
+import java.util.Arrays;
+
+/**
+ * Uma cadeia de predicados de {@link Validations} compilada para
+ * checar o valor inteiro numa unica passada.
+ *
+ * <pre>
+ * Validator nome = Validator.builder()
+ *     .notBlank()
+ *     .boundedLength(1, 40)
+ *     .alphanumericSpace()
+ *     .build();
+ *
+ * int falhas = nome.validate(valor);
+ * if ((falhas &amp; 2) != 0) {
+ *     // o tamanho (a segunda regra) falhou
+ * }
+ * </pre>
+ *
+ * Cada regra tem o mesmo resultado do predicado de mesmo nome em
+ * {@link Validations}, inclusive para <code>null</code>. As classes de
+ * caracteres de todas as regras saem de uma unica varredura, e o
+ * tamanho e medido como o de <code>trim()</code>, olhando so os
+ * brancos das pontas e sem criar a String aparada. O resultado e uma
+ * mascara de bits com as regras que
+ * falharam, na ordem em que foram adicionadas; 0 e valido.
+ *
+ * Um <code>Validator</code> e imutavel e pode ser usado por varias
+ * threads. Checar um valor nao cria objetos.
+ */
+public final class Validator {
+
+    /** O resultado de um valor que passou em todas as regras. */
+    public static final int VALID = 0;
+
+    /** Maximo de regras: uma por bit do resultado. */
+    public static final int MAX_RULES = 32;
+
+    private static final byte NOT_BLANK = 0;
+    private static final byte NOT_EMPTY = 1;
+    private static final byte MINIMUM_LENGTH = 2;
+    private static final byte MAXIMUM_LENGTH = 3;
+    private static final byte BOUNDED_LENGTH = 4;
+    private static final byte CHARACTERS = 5;
+
+    /*
+     * A varredura de CharClasses.patterns anota quais das 16
+     * combinacoes de classes apareceram. Estas sao as combinacoes
+     * sem WHITESPACE.
+     */
+    private static final int NOT_WHITESPACE = patterns(CharClasses.WHITESPACE, true);
+
+    private final byte[] kinds;
+    private final int[] first;
+    private final int[] second;
+    private final boolean scan;
+    private final int nullResult;
+
+
+    private Validator(Builder builder) {
+        int size = builder.size;
+        this.kinds = Arrays.copyOf(builder.kinds, size);
+        this.first = Arrays.copyOf(builder.first, size);
+        this.second = Arrays.copyOf(builder.second, size);
+        boolean characters = false;
+        int nulls = 0;
+        for (int i = 0; i < size; i++) {
+            characters |= kinds[i] == CHARACTERS;
+            // null tem tamanho 0, e branco e nao passa em nenhuma classe
+            if (kinds[i] == CHARACTERS || !check(i, 0, 0, true)) {
+                nulls |= 1 << i;
+            }
+        }
+        this.scan = characters;
+        this.nullResult = nulls;
+    }
+
+
+    /**
+     * @return um builder vazio
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+
+    /**
+     * Checa todas as regras.
+     *
+     * @param value   o valor, podendo ser <code>null</code>
+     * @return a mascara das regras que falharam (o bit <em>i</em> e a
+     *     regra adicionada em <em>i</em>-esimo lugar), ou {@link #VALID}
+     */
+    public int validate(CharSequence value) {
+        if (value == null) {
+            return nullResult;
+        }
+        int length = value.length();
+        // os mesmos limites de trim()
+        int start = 0;
+        while (start < length && value.charAt(start) <= ' ') {
+            start++;
+        }
+        int end = length;
+        while (end > start && value.charAt(end - 1) <= ' ') {
+            end--;
+        }
+        int seen;
+        if (scan) {
+            seen = CharClasses.patterns(value);
+        } else {
+            seen = blank(value) ? 0 : NOT_WHITESPACE;
+        }
+        int trimmed = end - start;
+        int result = VALID;
+        for (int i = 0; i < kinds.length; i++) {
+            boolean ok = kinds[i] == CHARACTERS
+                ? (seen & first[i]) == 0
+                : check(i, length, trimmed, (seen & NOT_WHITESPACE) == 0);
+            if (!ok) {
+                result |= 1 << i;
+            }
+        }
+        return result;
+    }
+
+
+    /**
+     * @param value   o valor, podendo ser <code>null</code>
+     * @return se o valor passou em todas as regras
+     */
+    public boolean isValid(CharSequence value) {
+        return validate(value) == VALID;
+    }
+
+
+    /**
+     * @return quantas regras o validator tem
+     */
+    public int size() {
+        return kinds.length;
+    }
+
+
+    /*
+     * As regras que nao olham as classes dos caracteres.
+     */
+    private boolean check(int rule, int length, int trimmed, boolean blank) {
+        switch (kinds[rule]) {
+            case NOT_BLANK:
+                return !blank;
+            case NOT_EMPTY:
+                return length > 0;
+            case MINIMUM_LENGTH:
+                return first[rule] <= trimmed;
+            case MAXIMUM_LENGTH:
+                return trimmed <= first[rule];
+            case BOUNDED_LENGTH:
+                return first[rule] <= trimmed && trimmed <= second[rule];
+            default:
+                return true;
+        }
+    }
+
+
+    /*
+     * Sem varredura das classes, isNotBlank so precisa achar o
+     * primeiro caractere que nao e espaco em branco.
+     */
+    private static boolean blank(CharSequence value) {
+        for (int i = value.length() - 1; i >= 0; i--) {
+            if (!Character.isWhitespace(value.charAt(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+
+    /*
+     * Os padroes de bits que tem (ou nao tem) alguma das classes.
+     */
+    private static int patterns(int classes, boolean without) {
+        int mask = 0;
+        for (int p = 0; p < 16; p++) {
+            if (((p & classes) == 0) == without) {
+                mask |= 1 << p;
+            }
+        }
+        return mask;
+    }
+
+
+    /**
+     * Monta um {@link Validator}. As regras sao checadas na ordem em que
+     * sao adicionadas e cada uma ocupa o bit seguinte do resultado.
+     */
+    public static final class Builder {
+
+        private byte[] kinds = new byte[4];
+        private int[] first = new int[4];
+        private int[] second = new int[4];
+        private int size;
+
+
+        private Builder() {
+
+        }
+
+
+        /** @see Validations#isNotBlank(String) */
+        public Builder notBlank() {
+            return add(NOT_BLANK, 0, 0);
+        }
+
+
+        /** @see Validations#isNotEmpty(String) */
+        public Builder notEmpty() {
+            return add(NOT_EMPTY, 0, 0);
+        }
+
+
+        /** @see Validations#hasMinimumLength(String, int) */
+        public Builder minimumLength(int min) {
+            return add(MINIMUM_LENGTH, min, 0);
+        }
+
+
+        /** @see Validations#hasMaximumLength(String, int) */
+        public Builder maximumLength(int max) {
+            return add(MAXIMUM_LENGTH, max, 0);
+        }
+
+
+        /**
+         * @throws IllegalArgumentException se min > max
+         * @see Validations#hasBoundedLength(String, int, int)
+         */
+        public Builder boundedLength(int min, int max) {
+            if (min > max) {
+                throw new IllegalArgumentException(
+                    "The minimum length must be less than or equal to the maximum length.");
+            }
+            return add(BOUNDED_LENGTH, min, max);
+        }
+
+
+        /** @see Validations#isOnlyLetters(String) */
+        public Builder onlyLetters() {
+            return characters(CharClasses.LETTER);
+        }
+
+
+        /** @see Validations#isLettersSpace(String) */
+        public Builder lettersSpace() {
+            return characters(CharClasses.LETTER | CharClasses.SPACE);
+        }
+
+
+        /** @see Validations#isLettersNumbers(String) */
+        public Builder lettersNumbers() {
+            return characters(CharClasses.LETTER | CharClasses.DIGIT);
+        }
+
+
+        /** @see Validations#isAlphanumericSpace(String) */
+        public Builder alphanumericSpace() {
+            return characters(CharClasses.LETTER | CharClasses.DIGIT | CharClasses.SPACE);
+        }
+
+
+        /** @see Validations#isNumeric(String) */
+        public Builder numeric() {
+            return characters(CharClasses.DIGIT);
+        }
+
+
+        /** @see Validations#isNumericSpace(String) */
+        public Builder numericSpace() {
+            return characters(CharClasses.DIGIT | CharClasses.SPACE);
+        }
+
+
+        /**
+         * @return o validator com as regras adicionadas ate aqui; o
+         *     builder pode continuar sendo usado
+         */
+        public Validator build() {
+            return new Validator(this);
+        }
+
+
+        /*
+         * A regra falha se aparecer algum padrao sem nenhuma das
+         * classes aceitas.
+         */
+        private Builder characters(int accept) {
+            return add(CHARACTERS, patterns(accept, true), 0);
+        }
+
+
+        private Builder add(byte kind, int a, int b) {
+            if (size == MAX_RULES) {
+                throw new IllegalStateException("A validator has at most " + MAX_RULES + " rules.");
+            }
+            if (size == kinds.length) {
+                kinds = Arrays.copyOf(kinds, size * 2);
+                first = Arrays.copyOf(first, size * 2);
+                second = Arrays.copyOf(second, size * 2);
+            }
+            kinds[size] = kind;
+            first[size] = a;
+            second[size] = b;
+            size++;
+            return this;
+        }
+    }
+}
@@ -0,0 +1,166 @@
+package br.com.validation.string;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Busca de varios padroes literais numa unica passada, pelo automato
+ * de Aho-Corasick.
+ *
+ * O automato fica todo em arrays de primitivos. A raiz tem uma linha
+ * completa de 256 transicoes; os demais estados guardam so as arestas
+ * que existem, ordenadas por byte, em arrays compactados (CSR), e usam
+ * os links de falha para o resto. Assim a memoria cresce com o numero
+ * de bytes dos padroes e nao com 256 vezes o numero de estados, o que
+ * permite dezenas de milhares de padroes.
+ */
+final class AhoCorasick implements ByteMatcher {
+	/** Primeira aresta de cada estado; as do estado s vao de first[s] a first[s + 1]. */
+	private final int[] first;
+	private final byte[] labels;
+	private final int[] targets;
+	private final int[] fail;
+	private final boolean[] terminal;
+	private final int[] root = new int[256];
+	private final List<byte[]> patterns;
+
+	AhoCorasick(List<byte[]> patterns) {
+		this.patterns = patterns;
+		// 1. trie com listas de filhos encadeadas, so durante a construcao
+		int capacity = 1;
+		for (byte[] p : patterns)
+			capacity += p.length;
+		int[] child = new int[capacity];
+		int[] sibling = new int[capacity];
+		byte[] label = new byte[capacity];
+		boolean[] end = new boolean[capacity];
+		Arrays.fill(child, -1);
+		Arrays.fill(sibling, -1);
+		int states = 1;
+		for (byte[] p : patterns) {
+			int s = 0;
+			for (byte b : p) {
+				int c = child[s];
+				while (c >= 0 && label[c] != b)
+					c = sibling[c];
+				if (c < 0) {
+					c = states++;
+					label[c] = b;
+					sibling[c] = child[s];
+					child[s] = c;
+				}
+				s = c;
+			}
+			end[s] = true;
+		}
+
+		// 2. renumera em largura e grava as arestas ordenadas por byte
+		int[] order = new int[states];
+		int[] number = new int[states];
+		first = new int[states + 1];
+		labels = new byte[states - 1];
+		targets = new int[states - 1];
+		terminal = new boolean[states];
+		int head = 0;
+		int tail = 1;
+		int edges = 0;
+		int[] kids = new int[256];
+		while (head < tail) {
+			int s = order[head];
+			number[s] = head;
+			terminal[head] = end[s];
+			first[head] = edges;
+			int n = 0;
+			for (int c = child[s]; c >= 0; c = sibling[c])
+				kids[n++] = c;
+			sortByLabel(kids, n, label);
+			for (int k = 0; k < n; k++) {
+				order[tail] = kids[k];
+				labels[edges] = label[kids[k]];
+				targets[edges] = tail++;
+				edges++;
+			}
+			head++;
+		}
+		first[states] = edges;
+
+		// 3. links de falha, tambem em largura
+		fail = new int[states];
+		for (int s = 0; s < states; s++) {
+			for (int e = first[s]; e < first[s + 1]; e++) {
+				int t = targets[e];
+				if (s == 0) {
+					fail[t] = 0;
+				} else {
+					int f = fail[s];
+					int next;
+					while ((next = edge(f, labels[e])) < 0 && f != 0)
+						f = fail[f];
+					fail[t] = next >= 0 ? next : 0;
+				}
+				terminal[t] |= terminal[fail[t]];
+			}
+		}
+		for (int c = 0; c < 256; c++) {
+			int t = edge(0, (byte) c);
+			root[c] = t >= 0 ? t : 0;
+		}
+	}
+
+	public List<byte[]> literals() {
+		return patterns;
+	}
+
+	public int indexOf(ByteBuffer buf, int from, int to) {
+		if (terminal[0])
+			return from < to ? from : -1;
+		int s = 0;
+		for (int i = from; i < to; i++) {
+			byte b = buf.get(i);
+			while (true) {
+				if (s == 0) {
+					s = root[b & 0xff];
+					break;
+				}
+				int t = edge(s, b);
+				if (t >= 0) {
+					s = t;
+					break;
+				}
+				s = fail[s];
+			}
+			if (terminal[s])
+				return i;
+		}
+		return -1;
+	}
+
+	private int edge(int s, byte b) {
+		int lo = first[s];
+		int hi = first[s + 1] - 1;
+		while (lo <= hi) {
+			int mid = (lo + hi) >>> 1;
+			int cmp = labels[mid] - b;
+			if (cmp == 0)
+				return targets[mid];
+			if (cmp < 0)
+				lo = mid + 1;
+			else
+				hi = mid - 1;
+		}
+		return -1;
+	}
+
+	private static void sortByLabel(int[] kids, int n, byte[] label) {
+		for (int i = 1; i < n; i++) {
+			int k = kids[i];
+			int j = i - 1;
+			while (j >= 0 && label[kids[j]] > label[k]) {
+				kids[j + 1] = kids[j];
+				j--;
+			}
+			kids[j + 1] = k;
+		}
+	}
+}
@@ -0,0 +1,38 @@
+package br.com.validation.string;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+/**
+ * Entrega o conteudo de uma entrada em blocos de bytes que sempre
+ * terminam em fim de linha, ou no fim da entrada. Assim nenhuma linha
+ * fica dividida entre dois blocos.
+ */
+interface BlockReader extends Closeable {
+
+	/**
+	 * Le o proximo bloco. Os bytes validos ficam entre
+	 * <code>position()</code> e <code>limit()</code> do buffer
+	 * devolvido, que so vale ate a proxima chamada.
+	 *
+	 * @return o bloco, ou <code>null</code> no fim da entrada
+	 */
+	ByteBuffer next() throws IOException;
+
+	/**
+	 * @return o offset, na entrada, do indice 0 do ultimo bloco lido
+	 */
+	long offset();
+
+	/**
+	 * Quantos '\n' a entrada tem antes do ultimo bloco lido, quando o
+	 * leitor pulou trechos e sabe essa conta.
+	 *
+	 * @return a quantidade, ou -1 se os blocos sao contiguos e quem le
+	 *     deve continuar contando
+	 */
+	default long newlinesBefore() {
+		return -1;
+	}
+}
@@ -0,0 +1,31 @@
+package br.com.validation.string;
+
+import java.nio.ByteBuffer;
+import java.util.List;
+
+/**
+ * Busca de padroes diretamente nos bytes de um bloco.
+ *
+ * As implementacoes nao guardam estado entre chamadas, entao a mesma
+ * instancia pode ser usada por varias threads ao mesmo tempo. Os
+ * padroes nao devem conter quebras de linha.
+ */
+interface ByteMatcher {
+
+	/**
+	 * Procura uma ocorrencia no intervalo <code>[from, to)</code>, que
+	 * sempre comeca no inicio de uma linha.
+	 *
+	 * @return um indice absoluto dentro da primeira linha que contem
+	 *     uma ocorrencia, ou -1
+	 */
+	int indexOf(ByteBuffer buf, int from, int to);
+
+	/**
+	 * Literais dos quais ao menos um aparece em toda linha encontrada.
+	 * O {@link TrigramIndex} usa essa lista para descartar blocos.
+	 *
+	 * @return os literais, ou <code>null</code> se nao ha como saber
+	 */
+	List<byte[]> literals();
+}
@@ -0,0 +1,83 @@
+package br.com.validation.string;
+
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Saida em bytes com um buffer grande e sem sincronizacao, para ser
+ * usada por uma unica thread. Diferente do <code>PrintStream</code>,
+ * nao codifica charset por linha nem trava a cada escrita; numeros
+ * sao formatados direto no buffer.
+ */
+final class ByteWriter implements Flushable {
+	/** Buffer padrao: 256 KB. */
+	static final int DEFAULT_BUFFER = 1 << 18;
+
+	private static final byte[] NEWLINE = System.lineSeparator().getBytes();
+
+	private final OutputStream out;
+	private final byte[] buf;
+	private int count;
+
+	ByteWriter(OutputStream out, int size) {
+		this.out = out;
+		this.buf = new byte[Math.max(size, 32)];
+	}
+
+	void write(byte[] b, int offset, int length) throws IOException {
+		if (length > buf.length - count) {
+			flushBuffer();
+			if (length > buf.length) {
+				out.write(b, offset, length);
+				return;
+			}
+		}
+		System.arraycopy(b, offset, buf, count, length);
+		count += length;
+	}
+
+	void write(int b) throws IOException {
+		if (count == buf.length)
+			flushBuffer();
+		buf[count++] = (byte) b;
+	}
+
+	void write(String s) throws IOException {
+		byte[] b = s.getBytes();
+		write(b, 0, b.length);
+	}
+
+	/*
+	 * Escreve o numero em decimal, sem passar por String.
+	 */
+	void writeNumber(long number) throws IOException {
+		if (buf.length - count < 20)
+			flushBuffer();
+		int digits = 1;
+		for (long n = number / 10; n > 0; n /= 10)
+			digits++;
+		int i = count + digits;
+		count = i;
+		do {
+			buf[--i] = (byte) ('0' + number % 10);
+			number /= 10;
+		} while (number > 0);
+	}
+
+	void newLine() throws IOException {
+		write(NEWLINE, 0, NEWLINE.length);
+	}
+
+	public void flush() throws IOException {
+		flushBuffer();
+		out.flush();
+	}
+
+	private void flushBuffer() throws IOException {
+		if (count > 0) {
+			out.write(buf, 0, count);
+			count = 0;
+		}
+	}
+}
@@ -0,0 +1,213 @@
+package br.com.validation.string;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Future;
+
+/**
+ * Um intervalo de bytes de um arquivo, pesquisado por uma unica
+ * thread.
+ *
+ * Os limites nominais sao empurrados para depois do proximo '\n' no
+ * momento da pesquisa; como cada chunk faz o mesmo calculo, o fim de
+ * um coincide com o inicio do seguinte. As linhas encontradas ficam
+ * num buffer ate serem repassadas, na ordem do arquivo, ao sink.
+ *
+ * Os numeros de linha sao locais ao chunk; quem repassa soma a eles
+ * a quantidade de '\n' dos chunks anteriores.
+ */
+final class Chunk implements Callable<Chunk> {
+	/** Tamanho padrao de chunk: 64 MB. */
+	static final long DEFAULT_SIZE = 64L << 20;
+
+	/** O nome do arquivo, como foi passado. */
+	final String name;
+	/** A posicao do chunk no arquivo; o primeiro e 0. */
+	final int index;
+	/** Quantos '\n' vem antes do chunk, ou -1 se ele continua o anterior. */
+	final long newlinesBefore;
+	/** O resultado da pesquisa, depois de submetido. */
+	Future<Chunk> future;
+
+	private final Path file;
+	private final long from;
+	private final long to;
+	private final ByteMatcher pattern;
+	private final boolean numbered;
+	private final boolean keepLines;
+	private final long limit;
+	private final int workers;
+	private final ByteArrayOutputStream lines = new ByteArrayOutputStream();
+	private long[] lineNumbers = new long[16];
+	private int[] lineEnds = new int[16];
+	private int matches;
+	private long newlines;
+
+	private Chunk(String name, int index, long from, long to, long newlinesBefore, ByteMatcher pattern, Options options) {
+		this.name = name;
+		this.index = index;
+		this.newlinesBefore = newlinesBefore;
+		this.file = Paths.get(name);
+		this.from = from;
+		this.to = to;
+		this.pattern = pattern;
+		this.numbered = options.numbered;
+		this.keepLines = options.keepsLines();
+		this.limit = options.limit();
+		this.workers = options.workers;
+	}
+
+	/**
+	 * Divide o arquivo em chunks de aproximadamente
+	 * <code>options.chunkSize</code> bytes. Arquivos que se dizem
+	 * vazios (pipes nomeados, /proc) e arquivos gzip viram um chunk so,
+	 * lido como fluxo.
+	 * Se o arquivo nao pode ser lido, o erro so aparece na pesquisa do
+	 * chunk, na vez dele.
+	 *
+	 * Com um indice, so os trechos que podem conter o padrao viram
+	 * chunks.
+	 */
+	static List<Chunk> split(String name, ByteMatcher pattern, Options options, TrigramIndex index) {
+		long length;
+		TrigramIndex.Ranges ranges = null;
+		try {
+			length = Files.size(Paths.get(name));
+			if (length > 0 && InflatingChannel.isGzip(Paths.get(name)))
+				length = 0;
+			if (index != null && length > 0)
+				ranges = index.ranges(Paths.get(name), pattern.literals());
+		} catch (IOException e) {
+			length = 0;
+		}
+		List<Chunk> chunks = new ArrayList<Chunk>();
+		if (length == 0) {
+			chunks.add(new Chunk(name, 0, 0, Long.MAX_VALUE, 0, pattern, options));
+		} else if (ranges == null) {
+			split(chunks, name, 0, length, Long.MAX_VALUE, 0, pattern, options);
+		} else {
+			for (int r = 0; r < ranges.count; r++) {
+				long end = Math.min(ranges.ends[r], length);
+				split(chunks, name, ranges.starts[r], end, ranges.ends[r], ranges.newlines[r], pattern, options);
+			}
+		}
+		return chunks;
+	}
+
+	/*
+	 * Divide [start, end) em pedacos de options.chunkSize; o ultimo vai
+	 * ate 'last', para pegar o que crescer no fim do arquivo.
+	 */
+	private static void split(List<Chunk> chunks, String name, long start, long end, long last, long newlinesBefore,
+			ByteMatcher pattern, Options options) {
+		long size = options.chunkSize;
+		long from = start;
+		do {
+			long to = from + size >= end ? last : from + size;
+			chunks.add(new Chunk(name, chunks.size(), from, to, from == start ? newlinesBefore : -1, pattern, options));
+			from += size;
+		} while (from < end);
+	}
+
+	public Chunk call() throws IOException {
+		try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+			long size = channel.size();
+			BlockReader in;
+			if (size == 0) {
+				in = new StreamBlockReader(channel, StreamBlockReader.DEFAULT_BUFFER);
+			} else if (InflatingChannel.isGzip(channel)) {
+				in = new StreamBlockReader(InflatingChannel.gzip(channel, workers), StreamBlockReader.DEFAULT_BUFFER);
+			} else {
+				long start = align(channel, from, size);
+				long end = Math.min(align(channel, to, size), size);
+				if (start >= end)
+					return this;
+				in = new MappedBlockReader(channel, start, end, MappedBlockReader.DEFAULT_WINDOW, false);
+			}
+			try {
+				scan(new LineScanner(in, pattern, numbered));
+			} finally {
+				in.close();
+			}
+		}
+		return this;
+	}
+
+	/*
+	 * Nenhum arquivo precisa de mais que 'limit' linhas, entao um chunk
+	 * tambem nao.
+	 */
+	private void scan(LineScanner scanner) throws IOException {
+		while (matches < limit && scanner.find()) {
+			if (matches == lineEnds.length) {
+				lineNumbers = Arrays.copyOf(lineNumbers, matches * 2);
+				lineEnds = Arrays.copyOf(lineEnds, matches * 2);
+			}
+			if (keepLines)
+				lines.write(scanner.line(), 0, scanner.lineLength());
+			lineNumbers[matches] = scanner.lineNumber();
+			lineEnds[matches] = lines.size();
+			matches++;
+		}
+		newlines = scanner.newlines();
+	}
+
+	/**
+	 * @return quantos '\n' o chunk contem
+	 */
+	long newlines() {
+		return newlines;
+	}
+
+	/**
+	 * Repassa as linhas encontradas ao sink.
+	 *
+	 * @param firstLine   o numero da primeira linha do chunk no arquivo
+	 * @return <code>false</code> se o sink dispensou o resto do arquivo
+	 */
+	boolean replay(MatchSink sink, long firstLine) throws IOException {
+		byte[] bytes = lines.toByteArray();
+		int start = 0;
+		for (int i = 0; i < matches; i++) {
+			long number = numbered ? firstLine - 1 + lineNumbers[i] : 0;
+			if (!sink.match(number, bytes, start, lineEnds[i] - start))
+				return false;
+			start = lineEnds[i];
+		}
+		return true;
+	}
+
+	/*
+	 * Posicao logo depois do primeiro '\n' em [offset - 1, size), ou size.
+	 */
+	private static long align(FileChannel channel, long offset, long size) throws IOException {
+		if (offset <= 0)
+			return 0;
+		if (offset >= size)
+			return size;
+		ByteBuffer buf = ByteBuffer.allocate(4096);
+		long position = offset - 1;
+		while (position < size) {
+			buf.clear();
+			int n = channel.read(buf, position);
+			if (n <= 0)
+				break;
+			for (int i = 0; i < n; i++) {
+				if (buf.get(i) == '\n')
+					return position + i + 1;
+			}
+			position += n;
+		}
+		return size;
+	}
+}
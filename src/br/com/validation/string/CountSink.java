@@ -0,0 +1,38 @@
+package br.com.validation.string;
+
+import java.io.IOException;
+
+/**
+ * Escreve so a quantidade de linhas encontradas em cada entrada,
+ * precedida por "nome:" quando ha mais de uma.
+ */
+final class CountSink implements MatchSink {
+	private final ByteWriter out;
+	private final boolean names;
+	private String name;
+	private long count;
+
+	CountSink(ByteWriter out, boolean names) {
+		this.out = out;
+		this.names = names;
+	}
+
+	public void begin(String name) {
+		this.name = name;
+		this.count = 0;
+	}
+
+	public boolean match(long lineNumber, byte[] line, int offset, int length) {
+		count++;
+		return true;
+	}
+
+	public void end() throws IOException {
+		if (names) {
+			out.write(name);
+			out.write(':');
+		}
+		out.writeNumber(count);
+		out.newLine();
+	}
+}
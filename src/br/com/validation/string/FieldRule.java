@@ -0,0 +1,45 @@
+package br.com.validation.string;
+
+import java.nio.charset.StandardCharsets;
+import java.util.function.Predicate;
+
+/**
+ * Uma regra para o valor de um campo, testada direto nos bytes UTF-8
+ * do registro.
+ *
+ * As versoes UTF-8 dos predicados de
+ * {@link br.com.validation.Validations} ja tem essa forma:
+ *
+ * <pre>
+ * RecordSchema.csv()
+ *     .column(3, Validations::isNumeric)
+ *     .text(5, v -&gt; Validations.isValidDate(v, "dd/MM/yyyy"))
+ *     .build();
+ * </pre>
+ *
+ * A regra e chamada por varias threads ao mesmo tempo e os bytes so
+ * valem durante a chamada.
+ */
+@FunctionalInterface
+public interface FieldRule {
+
+	/**
+	 * @return se o valor e valido
+	 */
+	boolean test(byte[] utf8, int offset, int length);
+
+	/**
+	 * @return uma regra que so passa se esta e a outra passarem
+	 */
+	default FieldRule and(FieldRule other) {
+		return (utf8, offset, length) -> test(utf8, offset, length) && other.test(utf8, offset, length);
+	}
+
+	/**
+	 * Adapta um predicado sobre o texto do campo. O campo e decodificado
+	 * para String a cada chamada.
+	 */
+	static FieldRule text(Predicate<? super String> predicate) {
+		return (utf8, offset, length) -> predicate.test(new String(utf8, offset, length, StandardCharsets.UTF_8));
+	}
+}
@@ -0,0 +1,35 @@
+package br.com.validation.string;
+
+import java.io.IOException;
+
+/**
+ * Escreve o nome de cada entrada que tem ao menos uma linha
+ * encontrada. A primeira linha ja responde, entao a pesquisa da
+ * entrada para ali.
+ */
+final class FilesWithMatchesSink implements MatchSink {
+	private final ByteWriter out;
+	private String name;
+	private boolean matched;
+
+	FilesWithMatchesSink(ByteWriter out) {
+		this.out = out;
+	}
+
+	public void begin(String name) {
+		this.name = name;
+		this.matched = false;
+	}
+
+	public boolean match(long lineNumber, byte[] line, int offset, int length) {
+		matched = true;
+		return false;
+	}
+
+	public void end() throws IOException {
+		if (matched) {
+			out.write(name);
+			out.newLine();
+		}
+	}
+}
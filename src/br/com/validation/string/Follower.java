@@ -0,0 +1,302 @@
+package br.com.validation.string;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Acompanha arquivos que crescem, como o <code>tail -F</code>,
+ * pesquisando so os bytes acrescentados desde a ultima volta.
+ *
+ * Cada arquivo fica aberto e guarda o offset ate onde ja foi lido,
+ * sempre no fim de uma linha completa: uma linha ainda sem '\n' espera
+ * a proxima volta. As voltas acontecem quando o {@link WatchService}
+ * avisa de alguma mudanca nos diretorios, ou a cada intervalo, o que
+ * vier primeiro.
+ *
+ * Se o arquivo encolhe, ele foi truncado e volta a ser lido do
+ * inicio. Se outro arquivo toma o lugar dele (rotacao), o que restou
+ * do antigo e lido ate o fim e o novo comeca do zero.
+ *
+ * Com um arquivo de checkpoint, o offset, o numero de linhas e a
+ * identidade (inode) de cada arquivo sao gravados depois de cada volta
+ * que leu algo, e uma nova execucao continua de onde a anterior parou.
+ */
+final class Follower {
+	private final ByteMatcher pattern;
+	private final boolean numbered;
+	private final MatchSink sink;
+	private final ByteWriter out;
+	private final Path checkpoint;
+	private final long interval;
+	private final List<Tail> tails = new ArrayList<Tail>();
+	private final RangeBlockReader reader = new RangeBlockReader(StreamBlockReader.DEFAULT_BUFFER);
+
+	Follower(ByteMatcher pattern, Options options, MatchSink sink, ByteWriter out) {
+		this.pattern = pattern;
+		this.numbered = options.numbered;
+		this.sink = sink;
+		this.out = out;
+		this.checkpoint = options.checkpoint == null ? null : Path.of(options.checkpoint);
+		this.interval = options.interval;
+	}
+
+	/**
+	 * Acompanha os arquivos ate a thread ser interrompida.
+	 */
+	void follow(List<String> names) throws IOException {
+		Map<String, String[]> saved = load();
+		Set<Path> dirs = new HashSet<Path>();
+		for (String name : names) {
+			Tail tail = new Tail(name, Path.of(name));
+			String[] record = saved.get(tail.key());
+			if (record != null) {
+				tail.offset = Long.parseLong(record[0]);
+				tail.lines = Long.parseLong(record[1]);
+				tail.identity = record[2];
+			}
+			tails.add(tail);
+			dirs.add(tail.path.toAbsolutePath().getParent());
+		}
+		WatchService watcher = watch(dirs);
+		try {
+			while (true) {
+				boolean changed = false;
+				for (Tail tail : tails)
+					changed |= poll(tail);
+				if (changed) {
+					out.flush();
+					save();
+				}
+				await(watcher);
+			}
+		} finally {
+			for (Tail tail : tails)
+				tail.close();
+			if (watcher != null)
+				watcher.close();
+		}
+	}
+
+	/*
+	 * Uma volta num arquivo.
+	 *
+	 * @return se o offset mudou
+	 */
+	private boolean poll(Tail tail) throws IOException {
+		String identity;
+		try {
+			BasicFileAttributes attrs = Files.readAttributes(tail.path, BasicFileAttributes.class);
+			identity = String.valueOf(attrs.fileKey() != null ? attrs.fileKey() : attrs.creationTime());
+		} catch (NoSuchFileException e) {
+			identity = null;
+		}
+		long before = tail.offset;
+		boolean rotated = identity != null && tail.identity != null && !identity.equals(tail.identity);
+		if (tail.channel != null) {
+			// le o que restou do arquivo antigo antes de trocar
+			boolean moved = scan(tail, rotated);
+			if (!rotated)
+				return moved;
+			tail.close();
+		}
+		if (identity == null)
+			return false;
+		if (rotated || tail.identity == null) {
+			tail.offset = 0;
+			tail.lines = 0;
+		}
+		try {
+			tail.channel = FileChannel.open(tail.path, StandardOpenOption.READ);
+		} catch (NoSuchFileException e) {
+			return false;
+		}
+		tail.identity = identity;
+		return scan(tail, false) || tail.offset != before || rotated;
+	}
+
+	/*
+	 * Pesquisa de tail.offset ate a ultima linha completa, ou ate o fim
+	 * do arquivo se ele nao vai mais crescer. O trecho e lido, e nao
+	 * mapeado, porque o arquivo pode ser truncado no meio da leitura.
+	 */
+	private boolean scan(Tail tail, boolean last) throws IOException {
+		long size = tail.channel.size();
+		if (size < tail.offset) {
+			tail.offset = 0;
+			tail.lines = 0;
+		}
+		long end = last ? size : lineEnd(tail.channel, tail.offset, size);
+		if (end <= tail.offset)
+			return false;
+		sink.begin(tail.name);
+		LineScanner scanner = new LineScanner(reader.reset(tail.channel, tail.offset, end), pattern, numbered);
+		while (scanner.find()) {
+			long number = numbered ? tail.lines + scanner.lineNumber() : 0;
+			if (!sink.match(number, scanner.line(), 0, scanner.lineLength()))
+				break;
+		}
+		sink.end();
+		if (numbered) {
+			// o scanner pode ter parado antes do fim; conta o resto
+			while (scanner.find())
+				;
+			tail.lines += scanner.newlines();
+		}
+		tail.offset = end;
+		return true;
+	}
+
+	/*
+	 * Posicao logo depois do ultimo '\n' em [from, size), ou from.
+	 */
+	private static long lineEnd(FileChannel channel, long from, long size) throws IOException {
+		ByteBuffer buf = ByteBuffer.allocate(4096);
+		long end = size;
+		while (end > from) {
+			int length = (int) Math.min(buf.capacity(), end - from);
+			buf.clear().limit(length);
+			long start = end - length;
+			int n = 0;
+			while (n < length) {
+				int r = channel.read(buf, start + n);
+				if (r < 0)
+					return from;
+				n += r;
+			}
+			for (int i = length - 1; i >= 0; i--) {
+				if (buf.get(i) == '\n')
+					return start + i + 1;
+			}
+			end = start;
+		}
+		return from;
+	}
+
+	private WatchService watch(Set<Path> dirs) {
+		WatchService watcher = null;
+		try {
+			watcher = FileSystems.getDefault().newWatchService();
+			for (Path dir : dirs) {
+				dir.register(watcher, StandardWatchEventKinds.ENTRY_CREATE,
+					StandardWatchEventKinds.ENTRY_MODIFY, StandardWatchEventKinds.ENTRY_DELETE);
+			}
+			return watcher;
+		} catch (IOException | UnsupportedOperationException e) {
+			// sem WatchService, so o intervalo
+			if (watcher != null) {
+				try {
+					watcher.close();
+				} catch (IOException ignored) {
+				}
+			}
+			return null;
+		}
+	}
+
+	private void await(WatchService watcher) throws IOException {
+		try {
+			if (watcher == null) {
+				Thread.sleep(interval);
+				return;
+			}
+			WatchKey key = watcher.poll(interval, TimeUnit.MILLISECONDS);
+			while (key != null) {
+				key.pollEvents();
+				key.reset();
+				key = watcher.poll();
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new InterruptedIOException();
+		}
+	}
+
+	/*
+	 * Uma linha por arquivo: offset, linhas, identidade e caminho,
+	 * separados por tab.
+	 */
+	private Map<String, String[]> load() throws IOException {
+		Map<String, String[]> saved = new HashMap<String, String[]>();
+		if (checkpoint == null || !Files.exists(checkpoint))
+			return saved;
+		try (BufferedReader in = Files.newBufferedReader(checkpoint, StandardCharsets.UTF_8)) {
+			String line;
+			while ((line = in.readLine()) != null) {
+				String[] fields = line.split("\t", 4);
+				if (fields.length == 4)
+					saved.put(fields[3], fields);
+			}
+		}
+		return saved;
+	}
+
+	private void save() throws IOException {
+		if (checkpoint == null)
+			return;
+		Path parent = checkpoint.toAbsolutePath().getParent();
+		Path temp = Files.createTempFile(parent, checkpoint.getFileName().toString(), ".tmp");
+		try {
+			try (BufferedWriter w = Files.newBufferedWriter(temp, StandardCharsets.UTF_8)) {
+				for (Tail tail : tails) {
+					if (tail.identity == null)
+						continue;
+					w.write(tail.offset + "\t" + tail.lines + "\t" + tail.identity + "\t" + tail.key());
+					w.newLine();
+				}
+			}
+			Files.move(temp, checkpoint, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+		} finally {
+			Files.deleteIfExists(temp);
+		}
+	}
+
+	/*
+	 * O estado de um arquivo acompanhado.
+	 */
+	private static final class Tail {
+		final String name;
+		final Path path;
+		FileChannel channel;
+		String identity;
+		long offset;
+		long lines;
+
+		Tail(String name, Path path) {
+			this.name = name;
+			this.path = path;
+		}
+
+		String key() {
+			return path.toAbsolutePath().normalize().toString();
+		}
+
+		void close() throws IOException {
+			if (channel != null) {
+				channel.close();
+				channel = null;
+			}
+		}
+	}
+}
@@ -3,55 +3,276 @@ package br.com.validation.string;
 /*
 grep.java
 
-Searches for patterns in input files. This is obsolete. Use the
-grep that comes with gnu.regexp instead.
+Searches for patterns in input files.
 
 by Patrick C. Beard.
+
+Files are memory-mapped and searched byte by byte with a
+Boyer-Moore-Horspool skip table; standard input goes through a
+reusable read buffer. Only matching lines are copied out.
+
+With -j N, N workers search at the same time. Files are split into
+chunks of --chunk-size bytes (64M by default) cut at line ends, so a
+single huge file is searched in parallel as well. Each chunk's matches
+are buffered and written in file and argument order; with -n the line
+numbers come from the running total of each chunk's newline count.
+
+Several patterns can be given with -e or read from a file with -f;
+they are all found in one pass by an Aho-Corasick automaton.
+
+With -E the patterns are java.util.regex expressions. A literal that
+every match must contain is pulled out of each expression and searched
+in the raw bytes first; the regex only runs on lines that contain it.
+
+Matches go to a MatchSink: the lines themselves, only the count (-c),
+only the names of the files that match (-l), at most N lines per file
+(-m N). Once a sink has its answer the rest of the file is not read.
+
+With --index FILE, a trigram index of the input files is kept in FILE.
+Entries are rebuilt when a file's size or modification time changes,
+and only the blocks that contain every trigram of a required literal
+are read.
+
+The same search is available to other code through GrepEngine, which
+returns matches lazily with their line number and byte offset.
+
+With --follow the files are kept open after the first pass and only
+the bytes appended since then are searched, as soon as a WatchService
+event arrives or every --interval milliseconds. A partial last line
+waits for its newline. A file that shrinks was truncated and is read
+again from the start; a file replaced by another one (rotation) is
+read to its end before the new one is opened. --checkpoint FILE keeps
+each file's offset, line count and identity across runs.
+
+Gzip files and standard input are recognized by their magic bytes and
+searched as they are decompressed: a separate thread inflates into a
+small queue of reused blocks while the search consumes them. With -j N
+a file made of many gzip members (concatenated files, BGZF) is cut
+near every megabyte of compressed input at a member header and the
+pieces are inflated by N threads, then passed on in order; -n counts
+lines of the decompressed text. Zstandard input is recognized and
+rejected, since the JDK has no decoder for it.
+
+-A N, -B N and -C N print N lines of context after, before or around
+each match, numbered "N-" instead of "N:" with -n. The lines before a
+match are found by walking back from it in the read buffer, so
+non-matching lines still cost nothing; only the unprinted tail of the
+previous buffer is copied, into a ring of at most N line offsets.
+Windows that touch or overlap are printed once, as one group, and
+groups are separated by "--" lines, as GNU grep does. Context needs
+the lines between the chunks and the blocks an index would skip, so
+with it files are searched one at a time and without the index; -j
+still inflates gzip members in parallel.
 */
 
 
 import java.io.*;
-import java.util.*;
+import java.nio.charset.Charset;
+import java.nio.file.AccessDeniedException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.regex.PatternSyntaxException;
 
 
 public class Grep {
-	private static void grep(String pattern, InputStream in) throws IOException {
-		PrintStream out = System.out;
-		BufferedReader data = new BufferedReader(new InputStreamReader(in));
-		String line = data.readLine();
-		while (line != null) {
-			if (line.indexOf(pattern) >= 0)
-				out.println(line);
-			line = data.readLine();
+	static final String STDIN = "(standard input)";
+
+	private static void grep(ByteMatcher pattern, String name, BlockReader in, Options options, MatchSink sink) throws IOException {
+		sink.begin(name);
+		boolean context = options.hasContext();
+		LineScanner scanner = context
+			? new LineScanner(in, pattern, options.numbered, options.before, options.after)
+			: new LineScanner(in, pattern, options.numbered);
+		boolean keepLines = options.keepsLines();
+		// com -m 0 nada e lido: nem o contexto de uma linha que nao sai.
+		// Fora isso o sink so recusa depois de aceitar a ultima, e o
+		// contexto de antes de uma linha recusada nunca chega a ser lido
+		boolean more = options.limit() > 0;
+		long accepted = 0;
+		while (more && scanner.find()) {
+			if (context) {
+				if (scanner.separated())
+					sink.separator();
+				if (!scanner.matched()) {
+					sink.context(scanner.lineNumber(), scanner.line(), 0, scanner.lineLength());
+					continue;
+				}
+			}
+			more = keepLines
+				? sink.match(scanner.lineNumber(), scanner.line(), 0, scanner.lineLength())
+				: sink.match(scanner.lineNumber(), null, 0, 0);
+			accepted++;
+		}
+		// como no grep, o -m ainda escreve o contexto depois da ultima
+		for (int left = context && !more && accepted > 0 ? options.after : 0; left > 0 && scanner.find() && !scanner.separated(); left--)
+			sink.context(scanner.lineNumber(), scanner.line(), 0, scanner.lineLength());
+		sink.end();
+	}
+
+	/*
+	 * Pesquisa os chunks dos arquivos em paralelo e repassa os resultados
+	 * ao sink na ordem dos argumentos. No maximo 2 * workers chunks ficam
+	 * em andamento ou aguardando a vez: isso limita tanto os descritores
+	 * abertos quanto a memoria dos buffers, mesmo com milhares de
+	 * arquivos na lista. Quando o sink dispensa um arquivo, os chunks
+	 * restantes dele sao cancelados ou nem chegam a ser submetidos.
+	 */
+	private static void grep(ByteMatcher pattern, List<String> files, Options options, TrigramIndex index, MatchSink sink) throws IOException {
+		ForkJoinPool pool = new ForkJoinPool(options.workers);
+		ArrayDeque<Chunk> pending = new ArrayDeque<Chunk>();
+		int inFlight = options.workers * 2;
+		Iterator<String> names = files.iterator();
+		Iterator<Chunk> chunks = null;
+		int split = 0;
+		int begun = 0;
+		boolean done = false;
+		long line = 1;
+		try {
+			while (true) {
+				// o arquivo dispensado ainda e o que esta sendo dividido
+				if (done && begun == split)
+					chunks = null;
+				while (pending.size() < inFlight) {
+					while ((chunks == null || !chunks.hasNext()) && names.hasNext()) {
+						chunks = Chunk.split(names.next(), pattern, options, index).iterator();
+						split++;
+					}
+					if (chunks == null || !chunks.hasNext())
+						break;
+					Chunk chunk = chunks.next();
+					chunk.future = pool.submit(chunk);
+					pending.add(chunk);
+				}
+				if (pending.isEmpty())
+					break;
+				Chunk chunk = pending.poll();
+				if (chunk.index == 0) {
+					if (begun > 0)
+						sink.end();
+					sink.begin(chunk.name);
+					begun++;
+					done = false;
+					line = 1;
+				}
+				if (done) {
+					chunk.future.cancel(true);
+					continue;
+				}
+				await(chunk.future);
+				if (chunk.newlinesBefore >= 0)
+					line = chunk.newlinesBefore + 1;
+				done = !chunk.replay(sink, line);
+				line += chunk.newlines();
+			}
+			if (begun > 0)
+				sink.end();
+		} finally {
+			pool.shutdownNow();
+		}
+	}
+
+	private static <T> T await(Future<T> future) throws IOException {
+		try {
+			return future.get();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new InterruptedIOException();
+		} catch (ExecutionException e) {
+			// o ForkJoinPool embrulha excecoes checadas em RuntimeException
+			for (Throwable t = e.getCause(); t != null; t = t.getCause()) {
+				if (t instanceof IOException)
+					throw (IOException) t;
+			}
+			Throwable cause = e.getCause();
+			if (cause instanceof RuntimeException)
+				throw (RuntimeException) cause;
+			throw new IOException(cause);
 		}
 	}
 
+	private static ByteMatcher compile(Options options) throws IOException {
+		List<String> patterns = new ArrayList<String>(options.patterns);
+		for (String file : options.patternFiles)
+			patterns.addAll(Files.readAllLines(Paths.get(file), Charset.defaultCharset()));
+		return GrepEngine.matcher(patterns, options.regex);
+	}
+
+	private static MatchSink sink(Options options, ByteWriter out) {
+		MatchSink sink;
+		if (options.filesWithMatches)
+			sink = new FilesWithMatchesSink(out);
+		else if (options.count)
+			sink = new CountSink(out, options.files.size() > 1);
+		else
+			sink = new PrintSink(out, options.numbered, options.hasContext());
+		if (options.maxCount >= 0)
+			sink = new MaxCountSink(sink, options.maxCount);
+		return sink;
+	}
+
+	private static String message(IOException e) {
+		if (e instanceof NoSuchFileException)
+			return e.getMessage() + ": No such file or directory";
+		if (e instanceof AccessDeniedException)
+			return e.getMessage() + ": Permission denied";
+		return e.getMessage() != null ? e.getMessage() : e.toString();
+	}
+
 	private static void usage() {
-		System.err.println("usage: grep pattern file1 file2 ..");
+		System.err.println("usage: grep [-E] [-c | -l] [-m max] [-n] [-A n] [-B n] [-C n] [-j workers] [--chunk-size bytes] [--index file] pattern file1 file2 ..");
+		System.err.println("       grep [-E] [-n] --follow [--interval ms] [--checkpoint file] pattern file1 file2 ..");
+		System.err.println("       grep [-E] [-c | -l] [-m max] [-n] [-A n] [-B n] [-C n] [-j workers] [--chunk-size bytes] [--index file] {-e pattern | -f file}.. file1 file2 ..");
 	}
 
 	public static void main(String[] args) {
-		int length = args.length;
-		if (length == 0) {
+		Options options;
+		try {
+			options = Options.parse(args);
+		} catch (IllegalArgumentException e) {
 			usage();
 			return;
 		}
 	
-		String pattern = args[0];
+		List<String> files = options.files;
+		ByteWriter out = new ByteWriter(new FileOutputStream(FileDescriptor.out), ByteWriter.DEFAULT_BUFFER);
 	
 		try {
-			if (length > 1) {
-				for (int i = 1; i < length; i++) {
-					InputStream in = new FileInputStream(args[i]);
-					grep(pattern, in);
-					in.close();
+			ByteMatcher pattern = compile(options);
+			MatchSink sink = sink(options, out);
+			TrigramIndex index = options.index == null ? null : TrigramIndex.open(Paths.get(options.index));
+			try {
+				if (options.follow) {
+					new Follower(pattern, options, sink, out).follow(files);
+				} else if (!files.isEmpty() && options.workers > 1 && !options.hasContext()) {
+					grep(pattern, files, options, index, sink);
+				} else if (!files.isEmpty()) {
+					for (String name : files) {
+						Path file = Paths.get(name);
+						try (BlockReader in = index != null && !options.hasContext() ? index.open(file, pattern.literals()) : GrepEngine.open(file, options.workers)) {
+							grep(pattern, name, in, options, sink);
+						}
+					}
+				} else {
+					grep(pattern, STDIN, GrepEngine.open(System.in), options, sink);
 				}
-			} else {
-				grep(pattern, System.in);
+			} finally {
+				out.flush();
+				if (index != null)
+					index.save();
 			}
 		} catch (IOException ioe) {
-		
+			System.err.println("grep: " + message(ioe));
+		} catch (PatternSyntaxException e) {
+			System.err.println("grep: " + e.getDescription());
 		}
 	}
 }
-
@@ -0,0 +1,195 @@
+package br.com.validation.string;
+
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.Charset;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * API de biblioteca do {@link Grep}: pesquisa um arquivo, fluxo ou
+ * canal e devolve as linhas encontradas como {@link Match}, sob
+ * demanda.
+ *
+ * <pre>
+ * GrepEngine engine = GrepEngine.literal("timeout", "refused");
+ * try (Stream&lt;Match&gt; matches = engine.search(Paths.get("app.log"))) {
+ *     matches.limit(100).forEach(m -&gt; System.out.println(m.getLineNumber()));
+ * }
+ * </pre>
+ *
+ * Uma instancia e imutavel e pode ser usada por varias threads; cada
+ * pesquisa tem o seu proprio iterador. Os padroes e as entradas usam
+ * o charset padrao da plataforma. Os streams devolvidos seguram o
+ * arquivo ou canal aberto ate serem fechados ou chegarem ao fim.
+ *
+ * Arquivos gzip sao reconhecidos pelos primeiros bytes e pesquisados
+ * descompactados; os offsets dos matches sao no conteudo
+ * descompactado.
+ */
+public final class GrepEngine {
+	private final ByteMatcher pattern;
+	private final boolean countLines;
+	private final TrigramIndex index;
+
+	private GrepEngine(ByteMatcher pattern, boolean countLines, TrigramIndex index) {
+		this.pattern = pattern;
+		this.countLines = countLines;
+		this.index = index;
+	}
+
+	/**
+	 * Pesquisa por um ou mais literais; a linha e encontrada se contem
+	 * qualquer um deles.
+	 *
+	 * @throws IllegalArgumentException se nenhum padrao for informado
+	 */
+	public static GrepEngine literal(String... patterns) {
+		return new GrepEngine(matcher(list(patterns), false), true, null);
+	}
+
+	/**
+	 * Pesquisa por uma ou mais expressoes de <code>java.util.regex</code>;
+	 * a linha e encontrada se qualquer uma delas casar.
+	 *
+	 * @throws IllegalArgumentException se nenhuma expressao for informada
+	 * @throws java.util.regex.PatternSyntaxException se alguma expressao
+	 *     for invalida
+	 */
+	public static GrepEngine regex(String... expressions) {
+		return new GrepEngine(matcher(list(expressions), true), true, null);
+	}
+
+	/**
+	 * Liga ou desliga a contagem de linhas. Sem ela a pesquisa pula
+	 * direto de uma ocorrencia a outra, e {@link Match#getLineNumber()}
+	 * retorna 0.
+	 */
+	public GrepEngine lineNumbers(boolean enabled) {
+		return enabled == countLines ? this : new GrepEngine(pattern, enabled, index);
+	}
+
+	/**
+	 * Usa um indice de trigramas nas pesquisas de arquivos, para ler
+	 * so os blocos que podem conter o padrao. Entradas desatualizadas
+	 * sao refeitas na hora; gravar o indice fica a cargo de quem chama.
+	 *
+	 * @param index   o indice, ou <code>null</code> para ler tudo
+	 */
+	public GrepEngine index(TrigramIndex index) {
+		return index == this.index ? this : new GrepEngine(pattern, countLines, index);
+	}
+
+	/**
+	 * Pesquisa um arquivo, mapeando-o em memoria.
+	 */
+	public Stream<Match> search(Path file) throws IOException {
+		return stream(iterator(file));
+	}
+
+	/**
+	 * Pesquisa um fluxo. Fechar o stream fecha o fluxo.
+	 */
+	public Stream<Match> search(InputStream in, String name) {
+		return stream(iterator(Channels.newChannel(in), name));
+	}
+
+	/**
+	 * Pesquisa um canal. Fechar o stream fecha o canal.
+	 */
+	public Stream<Match> search(ReadableByteChannel in, String name) {
+		return stream(iterator(in, name));
+	}
+
+	public MatchIterator iterator(Path file) throws IOException {
+		BlockReader reader = index != null ? index.open(file, pattern.literals()) : open(file);
+		return new MatchIterator(file.toString(), reader, pattern, countLines, Charset.defaultCharset());
+	}
+
+	public MatchIterator iterator(ReadableByteChannel in, String name) {
+		BlockReader reader = new StreamBlockReader(in, StreamBlockReader.DEFAULT_BUFFER);
+		return new MatchIterator(name, reader, pattern, countLines, Charset.defaultCharset());
+	}
+
+	private static Stream<Match> stream(MatchIterator iterator) {
+		Spliterator<Match> spliterator = Spliterators.spliteratorUnknownSize(iterator,
+			Spliterator.ORDERED | Spliterator.NONNULL);
+		return StreamSupport.stream(spliterator, false).onClose(() -> {
+			try {
+				iterator.close();
+			} catch (IOException e) {
+				throw new UncheckedIOException(e);
+			}
+		});
+	}
+
+	private static List<String> list(String[] patterns) {
+		if (patterns == null || patterns.length == 0)
+			throw new IllegalArgumentException("At least one pattern is required.");
+		return Arrays.asList(patterns);
+	}
+
+	/*
+	 * Um unico literal usa a tabela de saltos de Horspool; dois ou mais
+	 * usam o automato de Aho-Corasick. Expressoes viram um RegexMatcher.
+	 */
+	static ByteMatcher matcher(List<String> patterns, boolean regex) {
+		if (regex)
+			return new RegexMatcher(patterns);
+		List<byte[]> bytes = new ArrayList<byte[]>();
+		for (String pattern : patterns)
+			bytes.add(pattern.getBytes());
+		if (bytes.size() == 1)
+			return new Horspool(bytes.get(0));
+		return new AhoCorasick(bytes);
+	}
+
+	/*
+	 * Arquivos regulares sao mapeados em memoria. Arquivos que se dizem
+	 * vazios (pipes nomeados, /proc) sao lidos como fluxo.
+	 */
+	static BlockReader open(Path file) throws IOException {
+		return open(file, 1);
+	}
+
+	/*
+	 * Arquivos gzip sao descompactados enquanto sao lidos, os membros
+	 * em paralelo se ha mais de um worker.
+	 */
+	static BlockReader open(Path file, int workers) throws IOException {
+		FileChannel channel = FileChannel.open(file, StandardOpenOption.READ);
+		try {
+			long size = channel.size();
+			if (size > 0 && InflatingChannel.isGzip(channel))
+				return new StreamBlockReader(InflatingChannel.gzip(channel, workers), StreamBlockReader.DEFAULT_BUFFER);
+			if (size > 0)
+				return new MappedBlockReader(channel, 0, size, MappedBlockReader.DEFAULT_WINDOW, true);
+			return new StreamBlockReader(channel, StreamBlockReader.DEFAULT_BUFFER);
+		} catch (IOException e) {
+			channel.close();
+			throw e;
+		}
+	}
+
+	/*
+	 * A entrada padrao, descompactada se for gzip.
+	 */
+	static BlockReader open(InputStream in) throws IOException {
+		InputStream buffered = new BufferedInputStream(in, 1 << 16);
+		if (InflatingChannel.isGzip(buffered))
+			return new StreamBlockReader(InflatingChannel.gzip(buffered), StreamBlockReader.DEFAULT_BUFFER);
+		return new StreamBlockReader(Channels.newChannel(buffered), StreamBlockReader.DEFAULT_BUFFER);
+	}
+}
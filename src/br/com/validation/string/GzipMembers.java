@@ -0,0 +1,375 @@
+package br.com.validation.string;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.ArrayDeque;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.CRC32;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+import java.util.zip.ZipException;
+
+/**
+ * Descompacta em paralelo um arquivo gzip com varios membros.
+ *
+ * O arquivo e dividido em trechos de cerca de {@link #SEGMENT} bytes
+ * compactados, cortados onde parece comecar um membro (1f 8b 08 e
+ * flags validas). Cada trecho e descompactado por uma tarefa, membro a
+ * membro, ate o primeiro fim de membro depois do seu fim nominal; o
+ * resultado fica na fila da tarefa, de no maximo {@link #TASK_QUEUE}
+ * blocos, e e repassado em ordem.
+ *
+ * Um corte pode cair no meio de um membro, onde os bytes so parecem um
+ * cabecalho: a tarefa anterior passa dele e as tarefas que comecam
+ * antes de onde ela parou sao descartadas, tenham falhado ou nao. Os
+ * CRCs de cada membro sao conferidos, como no GZIPInputStream.
+ */
+final class GzipMembers {
+	/** Tamanho nominal, compactado, de cada trecho: 1 MB. */
+	static final long SEGMENT = 1 << 20;
+	/** Blocos que uma tarefa pode adiantar antes da sua vez. */
+	static final int TASK_QUEUE = 32;
+
+	private static final int FHCRC = 2;
+	private static final int FEXTRA = 4;
+	private static final int FNAME = 8;
+	private static final int FCOMMENT = 16;
+
+	private static final ByteBuffer END = ByteBuffer.allocate(0);
+
+	/** Para onde vao os blocos descompactados. */
+	private interface Sink {
+		void put(byte[] block, int length) throws IOException;
+	}
+
+	private final FileChannel file;
+	private final int workers;
+
+	GzipMembers(FileChannel file, int workers) {
+		this.file = file;
+		this.workers = workers;
+	}
+
+	/*
+	 * No maximo 2 * workers tarefas ficam em andamento ou aguardando a
+	 * vez. As tarefas rodam na ordem em que foram submetidas, entao a
+	 * primeira da fila sempre tem uma thread.
+	 */
+	void produce(InflatingChannel out) throws IOException {
+		long size = file.size();
+		ExecutorService pool = Executors.newFixedThreadPool(workers, runnable -> {
+			Thread thread = new Thread(runnable, "inflate-worker");
+			thread.setDaemon(true);
+			return thread;
+		});
+		ArrayDeque<Task> window = new ArrayDeque<Task>();
+		long next = 0;
+		long expected = 0;
+		try {
+			while (true) {
+				while (window.size() < 2 * workers && next < size) {
+					long end = next + SEGMENT >= size ? size : candidate(next + SEGMENT, size);
+					Task task = new Task(next, end, size, out);
+					task.future = pool.submit(task);
+					window.add(task);
+					next = end;
+				}
+				Task task = window.poll();
+				if (task == null)
+					break;
+				if (task.start < expected) {
+					// comecou num falso cabecalho, ja coberto pela anterior
+					task.cancel();
+				} else if (task.start > expected) {
+					// um membro que a varredura nao reconheceu: o que falta
+					// ate esta tarefa e descompactado aqui mesmo
+					window.addFirst(task);
+					expected = inflate(expected, task.start, size, out::put, out, null);
+				} else {
+					expected = task.drain(out);
+				}
+			}
+		} finally {
+			for (Task task : window)
+				task.cancel();
+			// sem interromper: um read interrompido fecharia o canal de todas
+			pool.shutdown();
+		}
+	}
+
+	/*
+	 * O primeiro provavel inicio de membro em [from, size), ou size.
+	 */
+	private long candidate(long from, long size) throws IOException {
+		ByteBuffer buf = ByteBuffer.allocate(1 << 16);
+		long position = from;
+		while (position < size) {
+			buf.clear();
+			int n = file.read(buf, position);
+			if (n <= 0)
+				break;
+			// os 3 ultimos bytes sao relidos na proxima volta
+			int last = position + n >= size ? n : n - 3;
+			for (int i = 0; i < last; i++) {
+				if ((buf.get(i) & 0xFF) == 0x1F && i + 3 < n && (buf.get(i + 1) & 0xFF) == 0x8B
+						&& buf.get(i + 2) == 8 && (buf.get(i + 3) & 0xE0) == 0)
+					return position + i;
+			}
+			if (position + n >= size)
+				break;
+			position += last;
+		}
+		return size;
+	}
+
+	/*
+	 * Descompacta os membros a partir de start ate passar de end.
+	 *
+	 * @param task   a tarefa que descompacta, conferida entre as
+	 *     leituras, ou null
+	 * @return onde o ultimo membro terminou
+	 */
+	private long inflate(long start, long end, long size, Sink sink, InflatingChannel out, Task task) throws IOException {
+		Input in = new Input(file, start, size, task);
+		Inflater inflater = new Inflater(true);
+		CRC32 crc = new CRC32();
+		byte[] block = out.buffer();
+		int filled = 0;
+		long position = start;
+		try {
+			while (position < end) {
+				if (!header(in)) {
+					if (position == start)
+						throw new ZipException("Not in GZIP format");
+					// lixo depois do ultimo membro e ignorado, como no GZIPInputStream
+					position = size;
+					break;
+				}
+				inflater.reset();
+				crc.reset();
+				long total = 0;
+				while (!inflater.finished()) {
+					if (inflater.needsInput()) {
+						if (!in.fill())
+							throw new EOFException("Unexpected end of ZLIB input stream");
+						inflater.setInput(in.buf, in.pos, in.limit - in.pos);
+						in.pos = in.limit;
+					}
+					int n;
+					try {
+						n = inflater.inflate(block, filled, block.length - filled);
+					} catch (DataFormatException e) {
+						throw new ZipException(e.getMessage() != null ? e.getMessage() : "Invalid ZLIB data format");
+					}
+					if (n == 0 && inflater.needsDictionary())
+						throw new ZipException("Invalid ZLIB data format");
+					crc.update(block, filled, n);
+					filled += n;
+					total += n;
+					if (filled == block.length) {
+						sink.put(block, filled);
+						block = out.buffer();
+						filled = 0;
+					}
+				}
+				in.pos -= inflater.getRemaining();
+				if (in.readIntLE() != (int) crc.getValue() || in.readIntLE() != (int) total)
+					throw new ZipException("Corrupt GZIP trailer");
+				position = in.position();
+			}
+			if (filled > 0)
+				sink.put(block, filled);
+			else
+				out.recycle(block);
+			return position;
+		} finally {
+			inflater.end();
+		}
+	}
+
+	/*
+	 * Le o cabecalho de um membro.
+	 *
+	 * @return false se nao ha mais nada ou se nao e um cabecalho gzip
+	 */
+	private static boolean header(Input in) throws IOException {
+		if (!in.fill() || in.read() != 0x1F || in.read() != 0x8B)
+			return false;
+		if (in.read() != 8)
+			throw new ZipException("Unsupported compression method");
+		int flags = in.read();
+		in.skip(6);
+		if ((flags & FEXTRA) != 0)
+			in.skip(in.read() | in.read() << 8);
+		if ((flags & FNAME) != 0) {
+			while (in.read() != 0) {
+			}
+		}
+		if ((flags & FCOMMENT) != 0) {
+			while (in.read() != 0) {
+			}
+		}
+		if ((flags & FHCRC) != 0)
+			in.skip(2);
+		return true;
+	}
+
+	/*
+	 * Leitura bufferizada do arquivo a partir de um offset, sem mexer
+	 * na posicao do canal, que e compartilhado pelas tarefas. Por isso
+	 * as tarefas nunca sao interrompidas (um read interrompido fecha o
+	 * canal): uma tarefa cancelada para na leitura seguinte.
+	 */
+	private static final class Input {
+		final FileChannel file;
+		final long size;
+		final Task task;
+		final byte[] buf = new byte[1 << 16];
+		final ByteBuffer view = ByteBuffer.wrap(buf);
+		long base;
+		int pos;
+		int limit;
+
+		Input(FileChannel file, long start, long size, Task task) {
+			this.file = file;
+			this.size = size;
+			this.task = task;
+			this.base = start;
+		}
+
+		/**
+		 * @return false no fim do arquivo
+		 */
+		boolean fill() throws IOException {
+			if (pos < limit)
+				return true;
+			base += limit;
+			pos = 0;
+			limit = 0;
+			if (base >= size)
+				return false;
+			if (task != null && task.cancelled)
+				throw new InterruptedIOException("cancelled");
+			view.clear();
+			int n = file.read(view, base);
+			if (n <= 0)
+				return false;
+			limit = n;
+			return true;
+		}
+
+		int read() throws IOException {
+			if (!fill())
+				throw new EOFException("Unexpected end of GZIP input");
+			return buf[pos++] & 0xFF;
+		}
+
+		int readIntLE() throws IOException {
+			return read() | read() << 8 | read() << 16 | read() << 24;
+		}
+
+		void skip(int n) throws IOException {
+			for (int i = 0; i < n; i++)
+				read();
+		}
+
+		long position() {
+			return base + pos;
+		}
+	}
+
+	private final class Task implements Callable<Void>, Sink {
+		final long start;
+		final long end;
+		final long size;
+		final InflatingChannel out;
+		final BlockingQueue<ByteBuffer> queue = new ArrayBlockingQueue<ByteBuffer>(TASK_QUEUE);
+		Future<Void> future;
+		volatile boolean cancelled;
+		volatile long stop;
+		volatile IOException failure;
+
+		Task(long start, long end, long size, InflatingChannel out) {
+			this.start = start;
+			this.end = end;
+			this.size = size;
+			this.out = out;
+		}
+
+		public Void call() {
+			try {
+				stop = inflate(start, end, size, this, out, this);
+			} catch (IOException e) {
+				failure = e;
+			} catch (RuntimeException e) {
+				failure = new IOException(e);
+			}
+			try {
+				offer(END);
+			} catch (InterruptedIOException e) {
+				// cancelada
+			}
+			return null;
+		}
+
+		public void put(byte[] block, int length) throws IOException {
+			offer(ByteBuffer.wrap(block, 0, length));
+		}
+
+		/*
+		 * Espera vaga na fila, conferindo de tempos em tempos se a
+		 * tarefa foi cancelada.
+		 */
+		private void offer(ByteBuffer block) throws InterruptedIOException {
+			try {
+				while (!queue.offer(block, 10, TimeUnit.MILLISECONDS)) {
+					if (cancelled)
+						throw new InterruptedIOException("cancelled");
+				}
+			} catch (InterruptedException e) {
+				throw new InterruptedIOException();
+			}
+		}
+
+		/**
+		 * Repassa os blocos da tarefa, em ordem, ate o fim dela.
+		 *
+		 * @return onde ela parou
+		 */
+		long drain(InflatingChannel out) throws IOException {
+			while (true) {
+				ByteBuffer block;
+				try {
+					block = queue.take();
+				} catch (InterruptedException e) {
+					throw new InterruptedIOException();
+				}
+				if (block == END) {
+					if (failure != null)
+						throw failure;
+					return stop;
+				}
+				out.put(block.array(), block.limit());
+			}
+		}
+
+		void cancel() {
+			cancelled = true;
+			future.cancel(false);
+			ByteBuffer block;
+			while ((block = queue.poll()) != null) {
+				if (block != END)
+					out.recycle(block.array());
+			}
+		}
+	}
+}
@@ -0,0 +1,58 @@
+package br.com.validation.string;
+
+import java.nio.ByteBuffer;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Busca de um padrao literal, ja codificado em bytes, pelo algoritmo
+ * de Boyer-Moore-Horspool.
+ *
+ * A tabela de saltos e montada uma unica vez; a busca nao aloca e
+ * le o buffer so com acessos absolutos.
+ */
+final class Horspool implements ByteMatcher {
+	private final byte[] pattern;
+	private final int[] shift = new int[256];
+
+	Horspool(byte[] pattern) {
+		this.pattern = pattern.clone();
+		int m = pattern.length;
+		for (int i = 0; i < shift.length; i++)
+			shift[i] = Math.max(m, 1);
+		for (int i = 0; i < m - 1; i++)
+			shift[pattern[i] & 0xff] = m - 1 - i;
+	}
+
+	public List<byte[]> literals() {
+		return Collections.singletonList(pattern);
+	}
+
+	/**
+	 * Procura o padrao no intervalo <code>[from, to)</code> do buffer.
+	 *
+	 * @return o indice absoluto da primeira ocorrencia, ou -1
+	 */
+	public int indexOf(ByteBuffer buf, int from, int to) {
+		int m = pattern.length;
+		if (m == 0)
+			return from < to ? from : -1;
+		byte last = pattern[m - 1];
+		int i = from + m - 1;
+		while (i < to) {
+			byte b = buf.get(i);
+			if (b == last) {
+				int j = m - 2;
+				int k = i - 1;
+				while (j >= 0 && buf.get(k) == pattern[j]) {
+					j--;
+					k--;
+				}
+				if (j < 0)
+					return k + 1;
+			}
+			i += shift[b & 0xff];
+		}
+		return -1;
+	}
+}
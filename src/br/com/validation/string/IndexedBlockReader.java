@@ -0,0 +1,59 @@
+package br.com.validation.string;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+
+/**
+ * Le so alguns trechos de um arquivo, escolhidos pelo
+ * {@link TrigramIndex}, mapeando cada um como o
+ * {@link MappedBlockReader}. No primeiro bloco de cada trecho informa
+ * quantos '\n' ficaram para tras, para que os numeros de linha
+ * continuem certos.
+ */
+final class IndexedBlockReader implements BlockReader {
+	private final FileChannel channel;
+	private final TrigramIndex.Ranges ranges;
+	private final long size;
+	private int range = -1;
+	private MappedBlockReader reader;
+	private long newlinesBefore = -1;
+
+	IndexedBlockReader(FileChannel channel, TrigramIndex.Ranges ranges) throws IOException {
+		this.channel = channel;
+		this.ranges = ranges;
+		this.size = channel.size();
+	}
+
+	public ByteBuffer next() throws IOException {
+		while (true) {
+			if (reader != null) {
+				ByteBuffer block = reader.next();
+				if (block != null) {
+					newlinesBefore = -1;
+					return block;
+				}
+			}
+			if (++range >= ranges.count)
+				return null;
+			long end = Math.min(ranges.ends[range], size);
+			reader = new MappedBlockReader(channel, ranges.starts[range], end, MappedBlockReader.DEFAULT_WINDOW, false);
+			newlinesBefore = ranges.newlines[range];
+			ByteBuffer block = reader.next();
+			if (block != null)
+				return block;
+		}
+	}
+
+	public long offset() {
+		return reader.offset();
+	}
+
+	public long newlinesBefore() {
+		return newlinesBefore;
+	}
+
+	public void close() throws IOException {
+		channel.close();
+	}
+}
@@ -0,0 +1,236 @@
+package br.com.validation.string;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * Um canal com o conteudo descompactado de uma entrada gzip.
+ *
+ * A descompactacao roda numa thread propria e entrega blocos de
+ * {@link #BLOCK} bytes por uma fila de {@link #QUEUE} blocos, que sao
+ * reaproveitados; quem le o canal (a pesquisa) trabalha ao mesmo tempo
+ * que ela, e nenhum dos dois acumula mais que a fila.
+ *
+ * Um arquivo com varios membros gzip (concatenados, ou gravados em
+ * blocos como o BGZF) pode ser descompactado por varias threads, um
+ * trecho de membros por vez; veja {@link GzipMembers}.
+ */
+final class InflatingChannel implements ReadableByteChannel {
+	/** Tamanho de cada bloco descompactado: 256 KB. */
+	static final int BLOCK = 1 << 18;
+	/** Blocos entre a descompactacao e a leitura. */
+	static final int QUEUE = 8;
+
+	private static final ByteBuffer END = ByteBuffer.allocate(0);
+
+	/**
+	 * Quem produz o conteudo: escreve os blocos com
+	 * {@link InflatingChannel#put} ate o fim da entrada.
+	 */
+	interface Producer {
+		void produce(InflatingChannel out) throws IOException;
+	}
+
+	private final BlockingQueue<ByteBuffer> full = new ArrayBlockingQueue<ByteBuffer>(QUEUE);
+	private final ConcurrentLinkedQueue<byte[]> free = new ConcurrentLinkedQueue<byte[]>();
+	private final Closeable source;
+	private final Thread thread;
+	private volatile IOException failure;
+	private volatile boolean closed;
+	private ByteBuffer block;
+
+	private InflatingChannel(Closeable source, Producer producer) {
+		this.source = source;
+		this.thread = new Thread(() -> run(producer), "inflate");
+		this.thread.setDaemon(true);
+		this.thread.start();
+	}
+
+	/**
+	 * Descompacta um fluxo gzip, com ou sem varios membros.
+	 */
+	static InflatingChannel gzip(InputStream in) {
+		return new InflatingChannel(in, out -> copy(new GZIPInputStream(in, 1 << 16), out));
+	}
+
+	/**
+	 * Descompacta um arquivo gzip. Com mais de um worker, os membros
+	 * sao descompactados em paralelo.
+	 */
+	static InflatingChannel gzip(FileChannel file, int workers) {
+		if (workers > 1)
+			return new InflatingChannel(file, out -> new GzipMembers(file, workers).produce(out));
+		return new InflatingChannel(file, out -> copy(new GZIPInputStream(Channels.newInputStream(file), 1 << 16), out));
+	}
+
+	/**
+	 * Confere os primeiros bytes do arquivo.
+	 *
+	 * @return se o arquivo e gzip
+	 * @throws IOException se o arquivo e zstd, que nao tem suporte
+	 */
+	static boolean isGzip(Path file) throws IOException {
+		try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+			return isGzip(channel);
+		}
+	}
+
+	/**
+	 * Confere os primeiros bytes do arquivo, sem mudar a sua posicao.
+	 *
+	 * @return se o arquivo e gzip
+	 * @throws IOException se o arquivo e zstd, que nao tem suporte
+	 */
+	static boolean isGzip(FileChannel channel) throws IOException {
+		ByteBuffer head = ByteBuffer.allocate(4);
+		while (head.hasRemaining() && channel.read(head, head.position()) > 0) {
+		}
+		return isGzip(head.array(), head.position());
+	}
+
+	/**
+	 * Confere os primeiros bytes de um fluxo com suporte a mark, sem
+	 * consumi-los.
+	 *
+	 * @return se o fluxo e gzip
+	 * @throws IOException se o fluxo e zstd, que nao tem suporte
+	 */
+	static boolean isGzip(InputStream in) throws IOException {
+		byte[] head = new byte[4];
+		in.mark(head.length);
+		int n = 0;
+		try {
+			int r;
+			while (n < head.length && (r = in.read(head, n, head.length - n)) > 0)
+				n += r;
+		} finally {
+			in.reset();
+		}
+		return isGzip(head, n);
+	}
+
+	private static boolean isGzip(byte[] head, int n) throws IOException {
+		if (n >= 2 && (head[0] & 0xFF) == 0x1F && (head[1] & 0xFF) == 0x8B)
+			return true;
+		if (n == 4 && (head[0] & 0xFF) == 0x28 && (head[1] & 0xFF) == 0xB5 && (head[2] & 0xFF) == 0x2F && (head[3] & 0xFF) == 0xFD)
+			throw new IOException("zstd compressed input is not supported");
+		return false;
+	}
+
+	private static void copy(InputStream in, InflatingChannel out) throws IOException {
+		while (true) {
+			byte[] block = out.buffer();
+			int n = 0;
+			while (n < block.length) {
+				int r = in.read(block, n, block.length - n);
+				if (r < 0)
+					break;
+				n += r;
+			}
+			if (n > 0)
+				out.put(block, n);
+			if (n < block.length)
+				return;
+		}
+	}
+
+	private void run(Producer producer) {
+		try {
+			producer.produce(this);
+		} catch (IOException e) {
+			failure = e;
+		} catch (RuntimeException e) {
+			failure = new IOException(e);
+		} finally {
+			try {
+				if (closed)
+					full.offer(END);
+				else
+					full.put(END);
+			} catch (InterruptedException e) {
+				// fechado no meio: ninguem mais le
+			}
+		}
+	}
+
+	/**
+	 * @return um bloco livre, de {@link #BLOCK} bytes
+	 */
+	byte[] buffer() {
+		byte[] block = free.poll();
+		return block != null ? block : new byte[BLOCK];
+	}
+
+	/**
+	 * Entrega um bloco, esperando enquanto a fila estiver cheia.
+	 */
+	void put(byte[] block, int length) throws IOException {
+		if (closed)
+			throw new ClosedChannelException();
+		try {
+			full.put(ByteBuffer.wrap(block, 0, length));
+		} catch (InterruptedException e) {
+			throw new InterruptedIOException();
+		}
+	}
+
+	/**
+	 * Devolve um bloco que nao vai ser entregue.
+	 */
+	void recycle(byte[] block) {
+		if (block.length == BLOCK)
+			free.add(block);
+	}
+
+	public int read(ByteBuffer dst) throws IOException {
+		if (closed)
+			throw new ClosedChannelException();
+		if (block == END)
+			return -1;
+		if (block == null || !block.hasRemaining()) {
+			if (block != null)
+				recycle(block.array());
+			try {
+				block = full.take();
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				throw new InterruptedIOException();
+			}
+			if (block == END) {
+				if (failure != null)
+					throw failure;
+				return -1;
+			}
+		}
+		int n = Math.min(dst.remaining(), block.remaining());
+		dst.put(block.array(), block.position(), n);
+		block.position(block.position() + n);
+		return n;
+	}
+
+	public boolean isOpen() {
+		return !closed;
+	}
+
+	public void close() throws IOException {
+		if (closed)
+			return;
+		closed = true;
+		thread.interrupt();
+		full.clear();
+		source.close();
+	}
+}
@@ -0,0 +1,383 @@
+package br.com.validation.string;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * Procura, bloco a bloco, as linhas que contem o padrao.
+ *
+ * O padrao e buscado direto nos bytes do bloco; so quando ha uma
+ * ocorrencia os limites da linha sao calculados. As linhas que nao
+ * casam nunca viram <code>String</code> e o scanner nao aloca nada
+ * por linha: o conteudo da linha encontrada e copiado para um buffer
+ * interno reutilizado.
+ *
+ * Com a contagem de linhas ligada, os '\n' entre uma ocorrencia e
+ * a seguinte tambem sao contados, para informar o numero da linha.
+ *
+ * Com linhas de contexto, <code>find()</code> tambem para nas linhas
+ * vizinhas das encontradas, como o grep -B/-A: as de depois sao
+ * percorridas uma a uma enquanto faltarem; as de antes sao achadas
+ * voltando a partir da linha encontrada, entao uma linha que nao
+ * vira contexto custa o mesmo que sem a opcao. Como o bloco anterior
+ * deixa de valer quando o proximo e lido, as suas ultimas linhas,
+ * ainda nao entregues, sao copiadas para um anel de no maximo
+ * <code>before</code> linhas. Janelas que se tocam ou se sobrepoem
+ * viram um grupo so, e cada linha e entregue uma vez.
+ */
+final class LineScanner {
+	private final BlockReader reader;
+	private final ByteMatcher pattern;
+	private final boolean countLines;
+	private final int before;
+	private final int after;
+	private final Ring ring;
+	private ByteBuffer block;
+	private int position;
+	private int lineStart;
+	private int lineEnd;
+	private int counted;
+	private long newlines;
+	private long lineNumber;
+	private long lineOffset;
+	private boolean matched = true;
+	private boolean separated;
+	private boolean fromRing;
+	// offset, na entrada, logo depois da ultima linha entregue, ou -1
+	private long delivered = -1;
+	private int afterLeft;
+	// a linha encontrada e as de antes dela que ainda faltam entregar
+	private boolean pending;
+	private int pendingFrom;
+	private int pendingStart;
+	private int pendingEnd;
+	private int pendingRing;
+	private byte[] scratch = new byte[256];
+
+	LineScanner(BlockReader reader, ByteMatcher pattern) {
+		this(reader, pattern, false);
+	}
+
+	LineScanner(BlockReader reader, ByteMatcher pattern, boolean countLines) {
+		this(reader, pattern, countLines, 0, 0);
+	}
+
+	/**
+	 * @param before   linhas de contexto antes de cada linha encontrada
+	 * @param after    linhas de contexto depois de cada linha encontrada
+	 */
+	LineScanner(BlockReader reader, ByteMatcher pattern, boolean countLines, int before, int after) {
+		this.reader = reader;
+		this.pattern = pattern;
+		this.countLines = countLines;
+		this.before = before;
+		this.after = after;
+		this.ring = before > 0 ? new Ring(before) : null;
+	}
+
+	/**
+	 * Avanca ate a proxima linha que contem o padrao ou, com contexto,
+	 * ate a proxima linha de contexto; veja <code>matched()</code>.
+	 *
+	 * @return <code>false</code> no fim da entrada
+	 */
+	boolean find() throws IOException {
+		while (true) {
+			if (pending) {
+				if (pendingRing > 0) {
+					deliver(ring.count - pendingRing--);
+				} else if (pendingFrom < pendingStart) {
+					int end = pendingFrom;
+					while (block.get(end) != '\n')
+						end++;
+					deliver(pendingFrom, end, false);
+					pendingFrom = end + 1;
+				} else {
+					pending = false;
+					deliver(pendingStart, pendingEnd, true);
+					afterLeft = after;
+					position = pendingEnd < block.limit() ? pendingEnd + 1 : block.limit();
+				}
+				return true;
+			}
+			if (block == null || position >= block.limit()) {
+				if (countLines && block != null)
+					newlines += count(block, counted, block.limit());
+				if (ring != null && block != null)
+					ring.keep(block, delivered - reader.offset(), reader.offset(), countLines ? newlines : 0);
+				block = reader.next();
+				if (block == null)
+					return false;
+				long newlinesBefore = reader.newlinesBefore();
+				if (newlinesBefore >= 0) {
+					newlines = newlinesBefore;
+					// o leitor pulou um trecho: nada do anterior e vizinho
+					if (ring != null)
+						ring.count = 0;
+				}
+				position = block.position();
+				counted = position;
+			}
+			int limit = block.limit();
+			if (afterLeft > 0) {
+				int end = position;
+				while (end < limit && block.get(end) != '\n')
+					end++;
+				boolean hit = pattern.indexOf(block, position, end) >= 0;
+				deliver(position, end, hit);
+				afterLeft = hit ? after : afterLeft - 1;
+				position = end < limit ? end + 1 : limit;
+				return true;
+			}
+			int hit = pattern.indexOf(block, position, limit);
+			if (hit < 0) {
+				position = limit;
+				continue;
+			}
+			int start = hit;
+			while (start > position && block.get(start - 1) != '\n')
+				start--;
+			int end = hit;
+			while (end < limit && block.get(end) != '\n')
+				end++;
+			if (before == 0) {
+				deliver(start, end, true);
+				position = end < limit ? end + 1 : limit;
+				afterLeft = after;
+				return true;
+			}
+			// volta ate 'before' linhas, sem passar da ultima entregue
+			int from = start;
+			int lines = 0;
+			while (lines < before && from > position) {
+				from--;
+				while (from > position && block.get(from - 1) != '\n')
+					from--;
+				lines++;
+			}
+			pending = true;
+			pendingFrom = from;
+			pendingStart = start;
+			pendingEnd = end;
+			pendingRing = from == block.position() ? Math.min(before - lines, ring.after(delivered)) : 0;
+		}
+	}
+
+	/*
+	 * Entrega a linha [start, end) do bloco; end e o '\n' ou o limite.
+	 */
+	private void deliver(int start, int end, boolean hit) {
+		long offset = reader.offset();
+		separated = delivered >= 0 && offset + start != delivered;
+		delivered = offset + (end < block.limit() ? end + 1 : end);
+		// como o readLine, "\r\n" tambem encerra a linha
+		if (end > start && block.get(end - 1) == '\r')
+			end--;
+		lineStart = start;
+		lineEnd = end;
+		lineOffset = offset + start;
+		matched = hit;
+		fromRing = false;
+		if (countLines) {
+			newlines += count(block, counted, start);
+			counted = start;
+			lineNumber = newlines + 1;
+		}
+	}
+
+	/*
+	 * Entrega a linha i do anel, que veio de um bloco anterior.
+	 */
+	private void deliver(int i) {
+		separated = delivered >= 0 && ring.offsets[i] != delivered;
+		delivered = ring.nexts[i];
+		lineStart = ring.starts[i];
+		lineEnd = ring.ends[i];
+		lineOffset = ring.offsets[i];
+		lineNumber = ring.numbers[i];
+		matched = false;
+		fromRing = true;
+	}
+
+	/**
+	 * @return se a ultima linha entregue contem o padrao; se nao, e
+	 *     uma linha de contexto
+	 */
+	boolean matched() {
+		return matched;
+	}
+
+	/**
+	 * @return se a ultima linha entregue nao vem logo depois da
+	 *     anterior, isto e, se ela abre um novo grupo de contexto
+	 */
+	boolean separated() {
+		return separated;
+	}
+
+	/**
+	 * @return o numero (a partir de 1) da ultima linha encontrada,
+	 *     se a contagem de linhas estiver ligada
+	 */
+	long lineNumber() {
+		return lineNumber;
+	}
+
+	/**
+	 * @return quantos '\n' ja foram percorridos; depois que
+	 *     <code>find()</code> retorna <code>false</code>, o total da entrada
+	 */
+	long newlines() {
+		return newlines;
+	}
+
+	/**
+	 * @return o offset, na entrada, do inicio da ultima linha encontrada
+	 */
+	long lineOffset() {
+		return lineOffset;
+	}
+
+	/**
+	 * @return o tamanho em bytes da ultima linha encontrada, sem o fim
+	 *     de linha
+	 */
+	int lineLength() {
+		return lineEnd - lineStart;
+	}
+
+	/**
+	 * Copia a ultima linha encontrada para um buffer interno
+	 * reutilizado e o devolve; a linha ocupa os primeiros
+	 * <code>lineLength()</code> bytes.
+	 */
+	byte[] line() {
+		int length = lineEnd - lineStart;
+		if (length > scratch.length)
+			scratch = new byte[Math.max(length, scratch.length * 2)];
+		if (fromRing)
+			System.arraycopy(ring.bytes, lineStart, scratch, 0, length);
+		else
+			block.get(lineStart, scratch, 0, length);
+		return scratch;
+	}
+
+	private static int count(ByteBuffer buf, int from, int to) {
+		int n = 0;
+		for (int i = from; i < to; i++) {
+			if (buf.get(i) == '\n')
+				n++;
+		}
+		return n;
+	}
+
+	/*
+	 * As ultimas linhas ainda nao entregues dos blocos ja lidos, da
+	 * mais antiga para a mais nova, com o texto copiado e o offset e o
+	 * numero de cada uma. Os arrays crescem so ate a capacidade, e o
+	 * texto ate caber as linhas mais longas; depois disso o anel nao
+	 * aloca mais nada.
+	 */
+	private static final class Ring {
+		final int capacity;
+		int[] starts = new int[0];
+		int[] ends = new int[0];
+		long[] offsets = new long[0];
+		long[] nexts = new long[0];
+		long[] numbers = new long[0];
+		byte[] bytes = new byte[1024];
+		byte[] spare = new byte[1024];
+		int count;
+
+		Ring(int capacity) {
+			this.capacity = capacity;
+			grow(Math.min(capacity, 16));
+		}
+
+		private void grow(int size) {
+			starts = Arrays.copyOf(starts, size);
+			ends = Arrays.copyOf(ends, size);
+			offsets = Arrays.copyOf(offsets, size);
+			nexts = Arrays.copyOf(nexts, size);
+			numbers = Arrays.copyOf(numbers, size);
+		}
+
+		/**
+		 * @return quantas linhas do anel comecam em <code>offset</code>
+		 *     ou depois
+		 */
+		int after(long offset) {
+			int n = 0;
+			while (n < count && offsets[count - 1 - n] >= offset)
+				n++;
+			return n;
+		}
+
+		/**
+		 * Guarda as ultimas linhas do bloco que comecam depois de
+		 * <code>from</code>, descartando as mais antigas do anel.
+		 *
+		 * @param from      posicao, no bloco, da primeira linha ainda
+		 *     nao entregue
+		 * @param base      offset, na entrada, do indice 0 do bloco
+		 * @param newlines  quantos '\n' a entrada tem ate o fim do bloco
+		 */
+		void keep(ByteBuffer block, long from, long base, long newlines) {
+			int limit = block.limit();
+			int low = (int) Math.max(block.position(), Math.min(from, limit));
+			// o bloco so nao termina em '\n' no fim da entrada
+			long number = limit > low && block.get(limit - 1) != '\n' ? newlines + 1 : newlines;
+			int fresh = 0;
+			int first = limit;
+			while (fresh < capacity && first > low) {
+				first--;
+				while (first > low && block.get(first - 1) != '\n')
+					first--;
+				fresh++;
+			}
+			int kept = Math.min(count, capacity - fresh);
+			if (kept + fresh > starts.length)
+				grow((int) Math.min(capacity, Math.max(kept + fresh, 2L * starts.length)));
+			int size = limit - first;
+			for (int i = count - kept; i < count; i++)
+				size += ends[i] - starts[i];
+			if (spare.length < size)
+				spare = new byte[Math.max(size, spare.length * 2)];
+			// as antigas que ficam vao para o inicio, na mesma ordem
+			int used = 0;
+			for (int i = 0; i < kept; i++) {
+				int j = count - kept + i;
+				int length = ends[j] - starts[j];
+				System.arraycopy(bytes, starts[j], spare, used, length);
+				starts[i] = used;
+				ends[i] = used + length;
+				offsets[i] = offsets[j];
+				nexts[i] = nexts[j];
+				numbers[i] = numbers[j];
+				used += length;
+			}
+			count = kept;
+			for (int start = first; start < limit;) {
+				int end = start;
+				while (end < limit && block.get(end) != '\n')
+					end++;
+				int next = end < limit ? end + 1 : end;
+				if (end > start && block.get(end - 1) == '\r')
+					end--;
+				block.get(start, spare, used, end - start);
+				starts[count] = used;
+				ends[count] = used + end - start;
+				offsets[count] = base + start;
+				nexts[count] = base + next;
+				numbers[count] = number - fresh + 1 + (count - kept);
+				used += end - start;
+				count++;
+				start = next;
+			}
+			byte[] swap = bytes;
+			bytes = spare;
+			spare = swap;
+		}
+	}
+}
@@ -0,0 +1,76 @@
+package br.com.validation.string;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+
+/**
+ * Le um intervalo de um arquivo mapeando-o em memoria com
+ * {@link FileChannel#map}, uma janela por vez.
+ *
+ * Cada janela e cortada no ultimo '\n' e a seguinte comeca logo
+ * depois dele. Uma linha maior que a janela inteira e entregue
+ * dividida.
+ */
+final class MappedBlockReader implements BlockReader {
+	/** Janela padrao: 1 GB. */
+	static final int DEFAULT_WINDOW = 1 << 30;
+
+	private final FileChannel channel;
+	private final boolean closeChannel;
+	private final long end;
+	private final int window;
+	private long position;
+	private long offset;
+
+	/**
+	 * @param channel        o arquivo
+	 * @param start          offset inicial, no comeco de uma linha
+	 * @param end            offset final (exclusivo)
+	 * @param window         tamanho maximo de cada mapeamento
+	 * @param closeChannel   se <code>close()</code> fecha o canal
+	 */
+	MappedBlockReader(FileChannel channel, long start, long end, int window, boolean closeChannel) {
+		this.channel = channel;
+		this.position = start;
+		this.offset = start;
+		this.end = end;
+		this.window = window;
+		this.closeChannel = closeChannel;
+	}
+
+	public ByteBuffer next() throws IOException {
+		if (position >= end)
+			return null;
+		int size = (int) Math.min(window, end - position);
+		MappedByteBuffer buf = channel.map(FileChannel.MapMode.READ_ONLY, position, size);
+		int limit = size;
+		if (position + size < end) {
+			int nl = lastNewline(buf, size);
+			if (nl >= 0)
+				limit = nl + 1;
+		}
+		buf.limit(limit);
+		offset = position;
+		position += limit;
+		return buf;
+	}
+
+	public long offset() {
+		return offset;
+	}
+
+	public void close() throws IOException {
+		if (closeChannel)
+			channel.close();
+	}
+
+	private static int lastNewline(ByteBuffer buf, int limit) {
+		for (int i = limit - 1; i >= 0; i--) {
+			if (buf.get(i) == '\n')
+				return i;
+		}
+		return -1;
+	}
+}
@@ -0,0 +1,69 @@
+package br.com.validation.string;
+
+import java.nio.charset.Charset;
+
+/**
+ * Uma linha encontrada pelo {@link GrepEngine}.
+ *
+ * Os bytes da linha sao copiados quando o registro e criado; o texto
+ * so e decodificado se <code>getLine()</code> for chamado.
+ */
+public final class Match {
+	private final String name;
+	private final long lineNumber;
+	private final long offset;
+	private final byte[] bytes;
+	private final Charset charset;
+	private String line;
+
+	Match(String name, long lineNumber, long offset, byte[] bytes, Charset charset) {
+		this.name = name;
+		this.lineNumber = lineNumber;
+		this.offset = offset;
+		this.bytes = bytes;
+		this.charset = charset;
+	}
+
+	/**
+	 * @return o nome da entrada: o caminho do arquivo, ou o nome
+	 *     informado para fluxos e canais
+	 */
+	public String getName() {
+		return name;
+	}
+
+	/**
+	 * @return o numero da linha, a partir de 1, ou 0 se a contagem de
+	 *     linhas estiver desligada
+	 */
+	public long getLineNumber() {
+		return lineNumber;
+	}
+
+	/**
+	 * @return o offset, em bytes, do inicio da linha na entrada
+	 */
+	public long getOffset() {
+		return offset;
+	}
+
+	/**
+	 * @return uma copia dos bytes da linha, sem o fim de linha
+	 */
+	public byte[] getBytes() {
+		return bytes.clone();
+	}
+
+	/**
+	 * @return o texto da linha, sem o fim de linha
+	 */
+	public String getLine() {
+		if (line == null)
+			line = new String(bytes, charset);
+		return line;
+	}
+
+	public String toString() {
+		return name + ":" + lineNumber + ":" + offset + ":" + getLine();
+	}
+}
@@ -0,0 +1,75 @@
+package br.com.validation.string;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.Charset;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * Percorre as linhas encontradas numa entrada sob demanda.
+ *
+ * A entrada so e lida quando o proximo registro e pedido, entao quem
+ * consome controla o ritmo e nada e acumulado em memoria. Fechar o
+ * iterador antes do fim libera o arquivo ou canal; chegar ao fim
+ * tambem fecha. Erros de leitura aparecem como
+ * {@link UncheckedIOException}.
+ */
+public final class MatchIterator implements Iterator<Match>, Closeable {
+	private final String name;
+	private final BlockReader reader;
+	private final LineScanner scanner;
+	private final Charset charset;
+	private Match next;
+	private boolean closed;
+
+	MatchIterator(String name, BlockReader reader, ByteMatcher pattern, boolean countLines, Charset charset) {
+		this.name = name;
+		this.reader = reader;
+		this.scanner = new LineScanner(reader, pattern, countLines);
+		this.charset = charset;
+	}
+
+	public boolean hasNext() {
+		if (next != null)
+			return true;
+		if (closed)
+			return false;
+		try {
+			if (!scanner.find()) {
+				close();
+				return false;
+			}
+			byte[] line = Arrays.copyOf(scanner.line(), scanner.lineLength());
+			next = new Match(name, scanner.lineNumber(), scanner.lineOffset(), line, charset);
+			return true;
+		} catch (IOException e) {
+			closeQuietly();
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	public Match next() {
+		if (!hasNext())
+			throw new NoSuchElementException();
+		Match match = next;
+		next = null;
+		return match;
+	}
+
+	public void close() throws IOException {
+		if (!closed) {
+			closed = true;
+			reader.close();
+		}
+	}
+
+	private void closeQuietly() {
+		try {
+			close();
+		} catch (IOException e) {
+		}
+	}
+}
@@ -0,0 +1,43 @@
+package br.com.validation.string;
+
+import java.io.IOException;
+
+/**
+ * Destino das linhas encontradas pelo {@link Grep}.
+ *
+ * Para cada entrada pesquisada sao chamados <code>begin</code>, zero
+ * ou mais <code>match</code>, na ordem do arquivo, e <code>end</code>.
+ * Quando <code>match</code> retorna <code>false</code> a resposta
+ * para aquela entrada ja e conhecida e o resto dela nao e lido.
+ */
+interface MatchSink {
+
+	/**
+	 * @param name   o nome do arquivo, ou "(standard input)"
+	 */
+	void begin(String name) throws IOException;
+
+	/**
+	 * Recebe uma linha encontrada. Os bytes so valem durante a chamada.
+	 *
+	 * @param lineNumber   o numero da linha, ou 0 se nao foi contado
+	 * @return <code>false</code> se o resto da entrada pode ser ignorado
+	 */
+	boolean match(long lineNumber, byte[] line, int offset, int length) throws IOException;
+
+	/**
+	 * Recebe uma linha de contexto (-A, -B, -C), vizinha de uma
+	 * encontrada. Os bytes so valem durante a chamada.
+	 */
+	default void context(long lineNumber, byte[] line, int offset, int length) throws IOException {
+	}
+
+	/**
+	 * Avisa que a proxima linha nao vem logo depois da anterior: um
+	 * novo grupo de contexto comeca.
+	 */
+	default void separator() throws IOException {
+	}
+
+	void end() throws IOException;
+}
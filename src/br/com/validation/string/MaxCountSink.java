@@ -0,0 +1,42 @@
+package br.com.validation.string;
+
+import java.io.IOException;
+
+/**
+ * Repassa no maximo <code>max</code> linhas de cada entrada a outro
+ * sink e entao encerra a pesquisa da entrada.
+ */
+final class MaxCountSink implements MatchSink {
+	private final MatchSink sink;
+	private final long max;
+	private long count;
+
+	MaxCountSink(MatchSink sink, long max) {
+		this.sink = sink;
+		this.max = max;
+	}
+
+	public void begin(String name) throws IOException {
+		count = 0;
+		sink.begin(name);
+	}
+
+	public boolean match(long lineNumber, byte[] line, int offset, int length) throws IOException {
+		if (count >= max)
+			return false;
+		count++;
+		return sink.match(lineNumber, line, offset, length) && count < max;
+	}
+
+	public void context(long lineNumber, byte[] line, int offset, int length) throws IOException {
+		sink.context(lineNumber, line, offset, length);
+	}
+
+	public void separator() throws IOException {
+		sink.separator();
+	}
+
+	public void end() throws IOException {
+		sink.end();
+	}
+}
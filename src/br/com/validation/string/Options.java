@@ -0,0 +1,190 @@
+package br.com.validation.string;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Opcoes da linha de comando do {@link Grep}.
+ */
+final class Options {
+	/** Quantos arquivos sao pesquisados ao mesmo tempo. */
+	int workers = 1;
+	/** Tamanho aproximado dos pedacos de arquivo pesquisados em paralelo. */
+	long chunkSize = Chunk.DEFAULT_SIZE;
+	/** Prefixa cada linha com o seu numero. */
+	boolean numbered;
+	/** Padroes literais; com mais de um, basta qualquer um deles. */
+	final List<String> patterns = new ArrayList<String>();
+	/** Arquivos com um padrao por linha. */
+	final List<String> patternFiles = new ArrayList<String>();
+	/** Os padroes sao expressoes regulares, e nao literais. */
+	boolean regex;
+	/** Escreve so a quantidade de linhas encontradas. */
+	boolean count;
+	/** Escreve so o nome das entradas com alguma linha encontrada. */
+	boolean filesWithMatches;
+	/** Maximo de linhas por entrada, ou -1 para todas. */
+	long maxCount = -1;
+	/** Linhas de contexto antes de cada linha encontrada. */
+	int before = -1;
+	/** Linhas de contexto depois de cada linha encontrada. */
+	int after = -1;
+	/** Houve -A, -B ou -C, mesmo com 0: os grupos sao separados por "--". */
+	boolean context;
+	/** Arquivo do indice de trigramas, ou <code>null</code>. */
+	String index;
+	/** Continua acompanhando os arquivos enquanto eles crescem. */
+	boolean follow;
+	/** Arquivo onde o --follow grava ate onde leu, ou <code>null</code>. */
+	String checkpoint;
+	/** Intervalo maximo, em milissegundos, entre duas voltas do --follow. */
+	long interval = 1000;
+	final List<String> files = new ArrayList<String>();
+
+	/**
+	 * Le as opcoes, o padrao e a lista de arquivos. Com -e ou -f, o
+	 * primeiro argumento livre ja e um arquivo. Como no grep, -A e -B
+	 * valem sobre -C, em qualquer ordem.
+	 *
+	 * @throws IllegalArgumentException se a linha de comando for invalida
+	 */
+	static Options parse(String[] args) {
+		Options options = new Options();
+		int around = 0;
+		int i = 0;
+		while (i < args.length && args[i].startsWith("-") && args[i].length() > 1) {
+			String opt = args[i++];
+			if (opt.equals("--"))
+				break;
+			if (opt.equals("-j")) {
+				options.workers = positive(opt, value(args, i++, opt));
+			} else if (opt.equals("--chunk-size")) {
+				options.chunkSize = size(opt, value(args, i++, opt));
+			} else if (opt.equals("-e")) {
+				options.patterns.add(value(args, i++, opt));
+			} else if (opt.equals("-f")) {
+				options.patternFiles.add(value(args, i++, opt));
+			} else if (opt.equals("-E")) {
+				options.regex = true;
+			} else if (opt.equals("-c")) {
+				options.count = true;
+			} else if (opt.equals("-l")) {
+				options.filesWithMatches = true;
+			} else if (opt.equals("-m")) {
+				options.maxCount = nonNegative(opt, value(args, i++, opt));
+			} else if (opt.equals("-A")) {
+				options.after = lines(opt, value(args, i++, opt));
+				options.context = true;
+			} else if (opt.equals("-B")) {
+				options.before = lines(opt, value(args, i++, opt));
+				options.context = true;
+			} else if (opt.equals("-C")) {
+				around = lines(opt, value(args, i++, opt));
+				options.context = true;
+			} else if (opt.equals("--index")) {
+				options.index = value(args, i++, opt);
+			} else if (opt.equals("--follow")) {
+				options.follow = true;
+			} else if (opt.equals("--checkpoint")) {
+				options.checkpoint = value(args, i++, opt);
+			} else if (opt.equals("--interval")) {
+				options.interval = positive(opt, value(args, i++, opt));
+			} else if (opt.equals("-n")) {
+				options.numbered = true;
+			} else {
+				throw new IllegalArgumentException("unknown option " + opt);
+			}
+		}
+		if (options.patterns.isEmpty() && options.patternFiles.isEmpty()) {
+			if (i >= args.length)
+				throw new IllegalArgumentException("missing pattern");
+			options.patterns.add(args[i++]);
+		}
+		while (i < args.length)
+			options.files.add(args[i++]);
+		if (options.before < 0)
+			options.before = around;
+		if (options.after < 0)
+			options.after = around;
+		if (options.checkpoint != null && !options.follow)
+			throw new IllegalArgumentException("--checkpoint needs --follow");
+		if (options.follow && (options.files.isEmpty() || options.count || options.filesWithMatches
+				|| options.maxCount >= 0 || options.index != null || options.hasContext()))
+			throw new IllegalArgumentException("--follow only prints lines of named files");
+		return options;
+	}
+
+	private static String value(String[] args, int i, String opt) {
+		if (i >= args.length)
+			throw new IllegalArgumentException("option " + opt + " needs a value");
+		return args[i];
+	}
+
+	/*
+	 * Aceita os sufixos K, M e G.
+	 */
+	private static long size(String opt, String value) {
+		if (value.isEmpty())
+			throw new IllegalArgumentException("option " + opt + " needs a positive number");
+		long unit = 1;
+		char suffix = Character.toUpperCase(value.charAt(value.length() - 1));
+		if (suffix == 'K' || suffix == 'M' || suffix == 'G') {
+			unit = suffix == 'K' ? 1L << 10 : suffix == 'M' ? 1L << 20 : 1L << 30;
+			value = value.substring(0, value.length() - 1);
+		}
+		return positive(opt, value) * unit;
+	}
+
+	private static long nonNegative(String opt, String value) {
+		long n;
+		try {
+			n = Long.parseLong(value);
+		} catch (NumberFormatException e) {
+			n = -1;
+		}
+		if (n < 0)
+			throw new IllegalArgumentException("option " + opt + " needs a number");
+		return n;
+	}
+
+	/**
+	 * @return quantas linhas de cada entrada, no maximo, interessam
+	 *     ao resultado
+	 */
+	long limit() {
+		long limit = filesWithMatches ? 1 : Long.MAX_VALUE;
+		return maxCount >= 0 ? Math.min(limit, maxCount) : limit;
+	}
+
+	/**
+	 * @return se as linhas vizinhas das encontradas tambem sao escritas;
+	 *     com -c ou -l o contexto nao tem efeito
+	 */
+	boolean hasContext() {
+		return context && keepsLines();
+	}
+
+	/**
+	 * @return se o conteudo das linhas encontradas e usado na saida
+	 */
+	boolean keepsLines() {
+		return !count && !filesWithMatches;
+	}
+
+	private static int lines(String opt, String value) {
+		long n = nonNegative(opt, value);
+		return (int) Math.min(n, Integer.MAX_VALUE);
+	}
+
+	private static int positive(String opt, String value) {
+		int n;
+		try {
+			n = Integer.parseInt(value);
+		} catch (NumberFormatException e) {
+			n = 0;
+		}
+		if (n <= 0)
+			throw new IllegalArgumentException("option " + opt + " needs a positive number");
+		return n;
+	}
+}
@@ -0,0 +1,65 @@
+package br.com.validation.string;
+
+import java.io.IOException;
+
+/**
+ * Escreve cada linha encontrada, opcionalmente precedida por
+ * "numero:". Linhas de contexto levam "numero-", e grupos de contexto
+ * separados, no mesmo arquivo ou em arquivos diferentes, ficam entre
+ * linhas "--", como no grep.
+ */
+final class PrintSink implements MatchSink {
+	private final ByteWriter out;
+	private final boolean numbered;
+	private final boolean grouped;
+	private boolean printed;
+	private boolean gap;
+
+	PrintSink(ByteWriter out, boolean numbered) {
+		this(out, numbered, false);
+	}
+
+	/**
+	 * @param grouped   se ha linhas de contexto, e portanto grupos
+	 */
+	PrintSink(ByteWriter out, boolean numbered, boolean grouped) {
+		this.out = out;
+		this.numbered = numbered;
+		this.grouped = grouped;
+	}
+
+	public void begin(String name) {
+		gap = grouped;
+	}
+
+	public boolean match(long lineNumber, byte[] line, int offset, int length) throws IOException {
+		write(lineNumber, ':', line, offset, length);
+		return true;
+	}
+
+	public void context(long lineNumber, byte[] line, int offset, int length) throws IOException {
+		write(lineNumber, '-', line, offset, length);
+	}
+
+	public void separator() {
+		gap = true;
+	}
+
+	private void write(long lineNumber, char mark, byte[] line, int offset, int length) throws IOException {
+		if (gap && printed) {
+			out.write("--");
+			out.newLine();
+		}
+		gap = false;
+		printed = true;
+		if (numbered) {
+			out.writeNumber(lineNumber);
+			out.write(mark);
+		}
+		out.write(line, offset, length);
+		out.newLine();
+	}
+
+	public void end() {
+	}
+}
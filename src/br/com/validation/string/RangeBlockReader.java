@@ -0,0 +1,97 @@
+package br.com.validation.string;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.Arrays;
+
+/**
+ * Le um trecho de um arquivo com leituras posicionais, para um buffer
+ * reutilizado como o do {@link StreamBlockReader}; o mesmo leitor
+ * serve para varios trechos, um depois do outro, com
+ * <code>reset</code>.
+ *
+ * E o leitor do {@link Follower}: os trechos sao pequenos e o arquivo
+ * pode ser truncado a qualquer momento. Uma pagina mapeada de um
+ * arquivo truncado derruba a JVM com SIGBUS; aqui a leitura so termina
+ * mais cedo, e a volta seguinte ve o arquivo menor.
+ */
+final class RangeBlockReader implements BlockReader {
+	private byte[] buf;
+	private ByteBuffer view;
+	private FileChannel channel;
+	private long offset;
+	private long end;
+	private int filled;
+	private int blockEnd;
+	private boolean eof;
+
+	RangeBlockReader(int bufferSize) {
+		this.buf = new byte[bufferSize];
+		this.view = ByteBuffer.wrap(buf);
+	}
+
+	/**
+	 * Passa a ler [start, end) do canal, que nao e fechado pelo leitor.
+	 */
+	RangeBlockReader reset(FileChannel channel, long start, long end) {
+		this.channel = channel;
+		this.offset = start;
+		this.end = end;
+		this.filled = 0;
+		this.blockEnd = 0;
+		this.eof = false;
+		return this;
+	}
+
+	public ByteBuffer next() throws IOException {
+		if (blockEnd > 0) {
+			System.arraycopy(buf, blockEnd, buf, 0, filled - blockEnd);
+			filled -= blockEnd;
+			offset += blockEnd;
+			blockEnd = 0;
+		}
+		int scanned = 0;
+		while (true) {
+			int nl = lastNewline(scanned);
+			if (nl >= 0)
+				return block(nl + 1);
+			if (eof || offset + filled >= end)
+				return filled == 0 ? null : block(filled);
+			scanned = filled;
+			if (filled == buf.length) {
+				buf = Arrays.copyOf(buf, buf.length * 2);
+				view = ByteBuffer.wrap(buf);
+			}
+			int limit = (int) Math.min(buf.length, end - offset);
+			view.limit(limit).position(filled);
+			int n = channel.read(view, offset + filled);
+			// o arquivo encolheu: o resto do trecho nao existe mais
+			if (n <= 0)
+				eof = true;
+			else
+				filled += n;
+		}
+	}
+
+	public long offset() {
+		return offset;
+	}
+
+	public void close() {
+	}
+
+	private ByteBuffer block(int end) {
+		blockEnd = end;
+		view.limit(end).position(0);
+		return view;
+	}
+
+	private int lastNewline(int from) {
+		for (int i = filled - 1; i >= from; i--) {
+			if (buf[i] == '\n')
+				return i;
+		}
+		return -1;
+	}
+}
@@ -0,0 +1,195 @@
+package br.com.validation.string;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Future;
+import java.util.function.Consumer;
+
+/**
+ * Um lote de linhas inteiras copiado da entrada, validado por uma
+ * thread do pool. Os rejeitados ficam guardados como posicoes no
+ * buffer e so viram {@link Reject} em {@link #replay}, na thread que
+ * le, com o numero da linha ja conhecido.
+ */
+final class RecordBatch implements Callable<RecordBatch> {
+	private static final String INVALID = "invalid value";
+	private static final String MISSING = "missing field";
+	private static final String UNTERMINATED = "unterminated quote";
+	private static final String AFTER_QUOTE = "unexpected text after closing quote";
+
+	private final RecordSchema schema;
+	byte[] buf;
+	int length;
+	long offset;
+	boolean first;
+
+	private byte[] scratch = new byte[64];
+	private long newlines;
+	private int records;
+	private int rejectedRecords;
+
+	// cada rejeitado: linha no lote, inicio e tamanho do campo (-1 se
+	// nao existe), coluna; mais a mensagem
+	private int[] rejects = new int[64];
+	private String[] messages = new String[16];
+	private int count;
+
+	Future<RecordBatch> future;
+
+	RecordBatch(RecordSchema schema, int capacity) {
+		this.schema = schema;
+		this.buf = new byte[capacity];
+	}
+
+	/**
+	 * Prepara o lote para ser reusado com outro trecho da entrada.
+	 */
+	RecordBatch reset(int length, long offset, boolean first) {
+		if (length > buf.length)
+			buf = new byte[length];
+		this.length = length;
+		this.offset = offset;
+		this.first = first;
+		this.newlines = 0;
+		this.records = 0;
+		this.rejectedRecords = 0;
+		this.count = 0;
+		return this;
+	}
+
+	public RecordBatch call() {
+		byte[] buf = this.buf;
+		int pos = 0;
+		int line = 0;
+		while (pos < length) {
+			int end = indexOf(buf, (byte) '\n', pos, length);
+			line++;
+			int stop = end;
+			if (stop > pos && buf[stop - 1] == '\r')
+				stop--;
+			if (stop > pos && !(first && line == 1 && schema.header))
+				record(line, pos, stop);
+			if (end < length)
+				newlines++;
+			pos = end + 1;
+		}
+		return this;
+	}
+
+	private void record(int line, int start, int stop) {
+		byte[] buf = this.buf;
+		FieldRule[] rules = schema.rules;
+		byte delimiter = schema.delimiter;
+		int before = count;
+		int column = 0;
+		int p = start;
+		records++;
+		while (true) {
+			column++;
+			FieldRule rule = column <= rules.length ? rules[column - 1] : null;
+			int end;
+			if (schema.quoted && p < stop && buf[p] == '"') {
+				// copia o valor sem as aspas e com "" trocado por "
+				int q = p + 1;
+				int n = 0;
+				boolean closed = false;
+				while (q < stop) {
+					byte b = buf[q++];
+					if (b == '"') {
+						if (q < stop && buf[q] == '"') {
+							q++;
+						} else {
+							closed = true;
+							break;
+						}
+					}
+					if (n == scratch.length)
+						scratch = Arrays.copyOf(scratch, n * 2);
+					scratch[n++] = b;
+				}
+				if (!closed) {
+					reject(line, p, stop - p, column, UNTERMINATED);
+					break;
+				}
+				end = q;
+				if (q < stop && buf[q] != delimiter) {
+					end = indexOf(buf, delimiter, q, stop);
+					reject(line, p, end - p, column, AFTER_QUOTE);
+				} else if (rule != null && !rule.test(scratch, 0, n)) {
+					reject(line, p, end - p, column, INVALID);
+				}
+			} else {
+				end = indexOf(buf, delimiter, p, stop);
+				if (rule != null && !rule.test(buf, p, end - p))
+					reject(line, p, end - p, column, INVALID);
+			}
+			if (end >= stop)
+				break;
+			p = end + 1;
+		}
+		for (int c = column + 1; c <= rules.length; c++) {
+			if (rules[c - 1] != null)
+				reject(line, start, -1, c, MISSING);
+		}
+		if (schema.fields > 0 && column != schema.fields)
+			reject(line, start, -1, 0, "expected " + schema.fields + " fields, found " + column);
+		if (count > before)
+			rejectedRecords++;
+	}
+
+	private void reject(int line, int start, int length, int column, String message) {
+		int i = count * 4;
+		if (i == rejects.length)
+			rejects = Arrays.copyOf(rejects, i * 2);
+		if (count == messages.length)
+			messages = Arrays.copyOf(messages, count * 2);
+		rejects[i] = line;
+		rejects[i + 1] = start;
+		rejects[i + 2] = length;
+		rejects[i + 3] = column;
+		messages[count++] = message;
+	}
+
+	private static int indexOf(byte[] buf, byte b, int from, int to) {
+		for (int i = from; i < to; i++) {
+			if (buf[i] == b)
+				return i;
+		}
+		return to;
+	}
+
+	/**
+	 * Entrega os rejeitados ao consumidor, em ordem.
+	 *
+	 * @param line   o numero da primeira linha do lote
+	 */
+	void replay(Consumer<? super Reject> sink, long line) {
+		for (int i = 0; i < count; i++) {
+			int at = i * 4;
+			int start = rejects[at + 1];
+			int length = rejects[at + 2];
+			String value = length < 0 ? null : new String(buf, start, length, StandardCharsets.UTF_8);
+			sink.accept(new Reject(line + rejects[at] - 1, offset + start, rejects[at + 3], value, messages[i]));
+		}
+	}
+
+	/**
+	 * @return quantos '\n' o lote tem
+	 */
+	long newlines() {
+		return newlines;
+	}
+
+	int records() {
+		return records;
+	}
+
+	int rejectedRecords() {
+		return rejectedRecords;
+	}
+
+	int rejects() {
+		return count;
+	}
+}
@@ -0,0 +1,63 @@
+package br.com.validation.string;
+
+/**
+ * O resumo de uma validacao do {@link RecordValidator}.
+ */
+public final class RecordReport {
+	private final long records;
+	private final long rejectedRecords;
+	private final long rejects;
+	private final long bytes;
+	private final long nanos;
+
+	RecordReport(long records, long rejectedRecords, long rejects, long bytes, long nanos) {
+		this.records = records;
+		this.rejectedRecords = rejectedRecords;
+		this.rejects = rejects;
+		this.bytes = bytes;
+		this.nanos = nanos;
+	}
+
+	/**
+	 * @return quantos registros foram validados, sem o cabecalho e as
+	 *     linhas vazias
+	 */
+	public long getRecords() {
+		return records;
+	}
+
+	/**
+	 * @return quantos registros tiveram ao menos um {@link Reject}
+	 */
+	public long getRejectedRecords() {
+		return rejectedRecords;
+	}
+
+	/**
+	 * @return quantos {@link Reject} foram entregues
+	 */
+	public long getRejects() {
+		return rejects;
+	}
+
+	/**
+	 * @return quantos bytes foram lidos
+	 */
+	public long getBytes() {
+		return bytes;
+	}
+
+	public long getElapsedNanos() {
+		return nanos;
+	}
+
+	public double getRecordsPerSecond() {
+		return nanos == 0 ? 0 : records * 1e9 / nanos;
+	}
+
+	@Override
+	public String toString() {
+		return records + " records, " + rejectedRecords + " rejected, " + bytes + " bytes, "
+			+ String.format("%.1f", getRecordsPerSecond() / 1e6) + " M records/s";
+	}
+}
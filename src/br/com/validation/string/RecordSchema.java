@@ -0,0 +1,129 @@
+package br.com.validation.string;
+
+import java.util.Arrays;
+import java.util.function.Predicate;
+
+/**
+ * O formato de um arquivo delimitado (CSV, TSV) e as regras de cada
+ * coluna, para o {@link RecordValidator}.
+ *
+ * As colunas sao numeradas a partir de 1. No CSV, um campo entre
+ * aspas pode conter o delimitador, e "" dentro dele e uma aspa; a
+ * regra recebe o valor sem as aspas. Um registro ocupa uma linha so:
+ * quebras de linha dentro de aspas nao sao suportadas. Linhas vazias
+ * sao ignoradas.
+ *
+ * Um schema e imutavel e pode ser usado por varias threads.
+ */
+public final class RecordSchema {
+	final byte delimiter;
+	final boolean quoted;
+	final boolean header;
+	final int fields;
+	final FieldRule[] rules;
+
+	private RecordSchema(Builder builder) {
+		this.delimiter = builder.delimiter;
+		this.quoted = builder.quoted;
+		this.header = builder.header;
+		this.fields = builder.fields;
+		this.rules = Arrays.copyOf(builder.rules, builder.columns);
+	}
+
+	/**
+	 * @return um builder de CSV: separado por virgula, com aspas
+	 */
+	public static Builder csv() {
+		return new Builder(',', true);
+	}
+
+	/**
+	 * @return um builder de TSV: separado por tab, sem aspas
+	 */
+	public static Builder tsv() {
+		return new Builder('\t', false);
+	}
+
+	/**
+	 * @param delimiter   o separador de campos, um caractere ASCII
+	 *     que nao seja fim de linha nem aspa
+	 * @return um builder sem aspas
+	 */
+	public static Builder delimited(char delimiter) {
+		return new Builder(delimiter, false);
+	}
+
+	public static final class Builder {
+		private final byte delimiter;
+		private boolean quoted;
+		private boolean header;
+		private int fields;
+		private FieldRule[] rules = new FieldRule[8];
+		private int columns;
+
+		private Builder(char delimiter, boolean quoted) {
+			if (delimiter >= 0x80 || delimiter == '\n' || delimiter == '\r' || delimiter == '"')
+				throw new IllegalArgumentException("invalid delimiter");
+			this.delimiter = (byte) delimiter;
+			this.quoted = quoted;
+		}
+
+		/**
+		 * Acrescenta uma regra a coluna. Com mais de uma, o campo tem
+		 * que passar em todas.
+		 *
+		 * @param column   a coluna, a partir de 1
+		 */
+		public Builder column(int column, FieldRule rule) {
+			if (column < 1)
+				throw new IllegalArgumentException("columns start at 1");
+			if (rule == null)
+				throw new NullPointerException("rule");
+			if (column > rules.length)
+				rules = Arrays.copyOf(rules, Math.max(column, rules.length * 2));
+			FieldRule current = rules[column - 1];
+			rules[column - 1] = current == null ? rule : current.and(rule);
+			columns = Math.max(columns, column);
+			return this;
+		}
+
+		/**
+		 * Acrescenta a coluna um predicado sobre o texto do campo.
+		 *
+		 * @see FieldRule#text(Predicate)
+		 */
+		public Builder text(int column, Predicate<? super String> predicate) {
+			return column(column, FieldRule.text(predicate));
+		}
+
+		/**
+		 * A primeira linha e o cabecalho e nao e validada.
+		 */
+		public Builder header() {
+			header = true;
+			return this;
+		}
+
+		/**
+		 * Todo registro tem que ter exatamente essa quantidade de campos.
+		 */
+		public Builder fields(int count) {
+			if (count < 1)
+				throw new IllegalArgumentException("a record has at least one field");
+			fields = count;
+			return this;
+		}
+
+		/**
+		 * Liga ou desliga os campos entre aspas.
+		 */
+		public Builder quoted(boolean enabled) {
+			quoted = enabled;
+			return this;
+		}
+
+		public RecordSchema build() {
+			return new RecordSchema(this);
+		}
+	}
+}
@@ -0,0 +1,202 @@
+package br.com.validation.string;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Consumer;
+
+/**
+ * Valida arquivos delimitados (CSV, TSV) campo a campo contra um
+ * {@link RecordSchema}, sem ler linha por linha.
+ *
+ * A entrada e lida como no {@link Grep}: arquivos sao mapeados em
+ * memoria e streams sao lidos em blocos, sempre cortados em fim de
+ * linha. A thread que chama {@code validate} copia lotes de linhas
+ * inteiras para buffers reaproveitados e os entrega a um pool; no
+ * maximo 2 * workers lotes ficam em andamento, entao a memoria usada
+ * nao depende do tamanho da entrada. Os rejeitados sao entregues ao
+ * consumidor na ordem da entrada, na thread que chamou.
+ *
+ * <pre>
+ * RecordSchema schema = RecordSchema.csv().header()
+ *     .column(3, Validations::isNumeric)
+ *     .text(5, v -&gt; Validations.isValidDate(v, "dd/MM/yyyy"))
+ *     .build();
+ * RecordReport report = RecordValidator.of(schema).workers(4)
+ *     .validate(Paths.get("clientes.csv"), System.out::println);
+ * </pre>
+ *
+ * Uma linha maior que a janela de mapeamento (1 GB) e dividida, como
+ * no {@link Grep}.
+ *
+ * Instancias sao imutaveis: os metodos de configuracao devolvem uma
+ * copia.
+ */
+public final class RecordValidator {
+	/** Tamanho padrao de cada lote: 1 MB. */
+	public static final int DEFAULT_BATCH = 1 << 20;
+
+	private final RecordSchema schema;
+	private final int workers;
+	private final int batchSize;
+
+	private RecordValidator(RecordSchema schema, int workers, int batchSize) {
+		this.schema = schema;
+		this.workers = workers;
+		this.batchSize = batchSize;
+	}
+
+	/**
+	 * @return um validador com uma thread por processador
+	 */
+	public static RecordValidator of(RecordSchema schema) {
+		if (schema == null)
+			throw new NullPointerException("schema");
+		return new RecordValidator(schema, Runtime.getRuntime().availableProcessors(), DEFAULT_BATCH);
+	}
+
+	/**
+	 * @param workers   quantas threads validam os lotes
+	 */
+	public RecordValidator workers(int workers) {
+		if (workers < 1)
+			throw new IllegalArgumentException("workers must be positive");
+		return new RecordValidator(schema, workers, batchSize);
+	}
+
+	/**
+	 * @param bytes   o tamanho aproximado de cada lote; um lote cresce
+	 *     para caber uma linha maior que ele
+	 */
+	public RecordValidator batchSize(int bytes) {
+		if (bytes < 1)
+			throw new IllegalArgumentException("batch size must be positive");
+		return new RecordValidator(schema, workers, bytes);
+	}
+
+	/**
+	 * Valida um arquivo.
+	 *
+	 * @param rejects   recebe cada campo ou registro recusado
+	 */
+	public RecordReport validate(Path file, Consumer<? super Reject> rejects) throws IOException {
+		try (BlockReader in = GrepEngine.open(file)) {
+			return validate(in, rejects);
+		}
+	}
+
+	/**
+	 * Valida o conteudo de um stream, ate o fim. O stream nao e fechado.
+	 */
+	public RecordReport validate(InputStream in, Consumer<? super Reject> rejects) throws IOException {
+		return validate(Channels.newChannel(in), rejects);
+	}
+
+	/**
+	 * Valida o conteudo de um canal, ate o fim. O canal nao e fechado.
+	 */
+	public RecordReport validate(ReadableByteChannel in, Consumer<? super Reject> rejects) throws IOException {
+		return validate(new StreamBlockReader(in, StreamBlockReader.DEFAULT_BUFFER), rejects);
+	}
+
+	/*
+	 * Le os blocos, divide cada um em lotes de linhas inteiras e junta
+	 * os resultados em ordem. Os lotes ja entregues voltam para a fila
+	 * de livres; so esta thread mexe nela.
+	 */
+	RecordReport validate(BlockReader in, Consumer<? super Reject> sink) throws IOException {
+		long started = System.nanoTime();
+		ForkJoinPool pool = new ForkJoinPool(workers);
+		ArrayDeque<RecordBatch> pending = new ArrayDeque<RecordBatch>();
+		ArrayDeque<RecordBatch> free = new ArrayDeque<RecordBatch>();
+		int inFlight = workers * 2;
+		ByteBuffer block = null;
+		long line = 1;
+		long bytes = 0;
+		long records = 0;
+		long rejectedRecords = 0;
+		long rejects = 0;
+		boolean first = true;
+		boolean eof = false;
+		try {
+			while (true) {
+				while (pending.size() < inFlight && !eof) {
+					if (block == null || !block.hasRemaining()) {
+						block = in.next();
+						if (block == null) {
+							eof = true;
+							break;
+						}
+					}
+					int start = block.position();
+					int end = cut(block, start, block.limit());
+					RecordBatch batch = free.isEmpty() ? new RecordBatch(schema, batchSize) : free.poll();
+					batch.reset(end - start, in.offset() + start, first);
+					block.get(batch.buf, 0, end - start);
+					bytes += end - start;
+					first = false;
+					batch.future = pool.submit(batch);
+					pending.add(batch);
+				}
+				if (pending.isEmpty())
+					break;
+				RecordBatch batch = pending.poll();
+				await(batch);
+				batch.replay(sink, line);
+				line += batch.newlines();
+				records += batch.records();
+				rejectedRecords += batch.rejectedRecords();
+				rejects += batch.rejects();
+				batch.future = null;
+				free.add(batch);
+			}
+		} finally {
+			for (RecordBatch batch : pending)
+				batch.future.cancel(true);
+			pool.shutdownNow();
+		}
+		return new RecordReport(records, rejectedRecords, rejects, bytes, System.nanoTime() - started);
+	}
+
+	/*
+	 * O fim do proximo lote: o ultimo '\n' antes de batchSize bytes ou,
+	 * se a linha for maior que isso, o '\n' que a termina.
+	 */
+	private int cut(ByteBuffer block, int start, int limit) {
+		if (limit - start <= batchSize)
+			return limit;
+		int end = start + batchSize;
+		for (int i = end - 1; i >= start; i--) {
+			if (block.get(i) == '\n')
+				return i + 1;
+		}
+		for (int i = end; i < limit; i++) {
+			if (block.get(i) == '\n')
+				return i + 1;
+		}
+		return limit;
+	}
+
+	private static void await(RecordBatch batch) throws IOException {
+		try {
+			batch.future.get();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new InterruptedIOException();
+		} catch (ExecutionException e) {
+			Throwable cause = e.getCause();
+			if (cause instanceof RuntimeException)
+				throw (RuntimeException) cause;
+			if (cause instanceof Error)
+				throw (Error) cause;
+			throw new IOException(cause);
+		}
+	}
+}
@@ -0,0 +1,308 @@
+package br.com.validation.string;
+
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CodingErrorAction;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Busca por expressao regular, com um pre-filtro literal.
+ *
+ * De cada expressao e extraido o maior trecho literal que toda
+ * ocorrencia precisa conter. Esses literais sao buscados direto nos
+ * bytes, com {@link Horspool} ou {@link AhoCorasick}, e so as linhas
+ * que os contem passam pelo motor de regex. Quando alguma expressao
+ * nao tem literal obrigatorio, todas as linhas sao candidatas.
+ *
+ * Cada thread reutiliza o seu <code>Matcher</code> (com
+ * <code>reset</code>) e os buffers de decodificacao, entao testar uma
+ * linha candidata nao aloca.
+ */
+final class RegexMatcher implements ByteMatcher {
+	private final Pattern regex;
+	private final ByteMatcher prefilter;
+	private final ThreadLocal<Line> lines = new ThreadLocal<Line>() {
+		protected Line initialValue() {
+			return new Line(regex);
+		}
+	};
+
+	/**
+	 * @param expressions   uma ou mais expressoes; a linha casa se
+	 *     qualquer uma delas casar
+	 * @throws java.util.regex.PatternSyntaxException se alguma
+	 *     expressao for invalida
+	 */
+	RegexMatcher(List<String> expressions) {
+		StringBuilder alternation = new StringBuilder();
+		List<byte[]> literals = new ArrayList<byte[]>();
+		for (String expression : expressions) {
+			Pattern.compile(expression);
+			if (alternation.length() > 0)
+				alternation.append('|');
+			alternation.append("(?:").append(expression).append(')');
+			String literal = requiredLiteral(expression);
+			if (literals != null && literal != null && literal.length() > 0)
+				literals.add(literal.getBytes());
+			else
+				literals = null;
+		}
+		regex = Pattern.compile(alternation.toString());
+		if (literals == null || literals.isEmpty())
+			prefilter = null;
+		else if (literals.size() == 1)
+			prefilter = new Horspool(literals.get(0));
+		else
+			prefilter = new AhoCorasick(literals);
+	}
+
+	public List<byte[]> literals() {
+		return prefilter == null ? null : prefilter.literals();
+	}
+
+	public int indexOf(ByteBuffer buf, int from, int to) {
+		Line line = lines.get();
+		int position = from;
+		while (position < to) {
+			int hit = prefilter == null ? position : prefilter.indexOf(buf, position, to);
+			if (hit < 0)
+				return -1;
+			int start = hit;
+			while (start > position && buf.get(start - 1) != '\n')
+				start--;
+			int end = hit;
+			while (end < to && buf.get(end) != '\n')
+				end++;
+			int content = end > start && buf.get(end - 1) == '\r' ? end - 1 : end;
+			if (line.matches(buf, start, content))
+				return hit;
+			position = end + 1;
+		}
+		return -1;
+	}
+
+	/**
+	 * Extrai o maior trecho literal que toda ocorrencia da expressao
+	 * precisa conter.
+	 *
+	 * A analise e conservadora: so olha o nivel de fora dos grupos,
+	 * pula grupos, classes e escapes especiais, e desiste (retorna
+	 * <code>null</code>) diante de alternativas no nivel de fora,
+	 * flags embutidas ou escapes com argumentos.
+	 *
+	 * @return o literal, possivelmente vazio, ou <code>null</code>
+	 */
+	static String requiredLiteral(String regex) {
+		String best = "";
+		StringBuilder run = new StringBuilder();
+		int n = regex.length();
+		int i = 0;
+		while (i < n) {
+			char c = regex.charAt(i);
+			int atom = run.length();
+			switch (c) {
+				case '|':
+					return null;
+				case '\\': {
+					if (i + 1 >= n)
+						return null;
+					char e = regex.charAt(i + 1);
+					i += 2;
+					if (Character.isLetterOrDigit(e)) {
+						if ("xu0cpPNkQE".indexOf(e) >= 0 || Character.isDigit(e))
+							return null;
+						best = longest(best, run);
+						atom = -1;
+					} else {
+						run.append(e);
+					}
+					break;
+				}
+				case '[':
+					i = skipClass(regex, i);
+					if (i < 0)
+						return null;
+					best = longest(best, run);
+					atom = -1;
+					break;
+				case '(':
+					if (i + 1 < n && regex.charAt(i + 1) == '?') {
+						char k = i + 2 < n ? regex.charAt(i + 2) : 0;
+						boolean group = k == ':' || k == '=' || k == '!' || k == '>'
+							|| (k == '<' && i + 3 < n && Character.isLetter(regex.charAt(i + 3)))
+							|| (k == '<' && i + 3 < n && (regex.charAt(i + 3) == '=' || regex.charAt(i + 3) == '!'));
+						if (!group)
+							return null;
+					}
+					i = skipGroup(regex, i);
+					if (i < 0)
+						return null;
+					best = longest(best, run);
+					atom = -1;
+					break;
+				case '.':
+				case '^':
+				case '$':
+					i++;
+					best = longest(best, run);
+					atom = -1;
+					break;
+				case '*':
+				case '?':
+				case '+':
+				case '{':
+					return null;
+				default:
+					run.append(c);
+					i++;
+					if (Character.isHighSurrogate(c) && i < n)
+						run.append(regex.charAt(i++));
+			}
+			// o quantificador se aplica ao ultimo atomo lido
+			if (i < n && "*?+{".indexOf(regex.charAt(i)) >= 0) {
+				char q = regex.charAt(i);
+				boolean optional = q == '*' || q == '?';
+				if (q == '{') {
+					int close = regex.indexOf('}', i);
+					if (close < 0)
+						return null;
+					optional = regex.charAt(i + 1) == '0' || regex.charAt(i + 1) == ',';
+					i = close + 1;
+				} else {
+					i++;
+				}
+				if (i < n && (regex.charAt(i) == '?' || regex.charAt(i) == '+'))
+					i++;
+				if (atom >= 0) {
+					// o atomo pode ser um par de surrogates
+					if (!optional)
+						atom += Character.charCount(run.codePointAt(atom));
+					run.setLength(atom);
+					best = longest(best, run);
+				}
+			}
+		}
+		return longest(best, run);
+	}
+
+	private static String longest(String best, StringBuilder run) {
+		String result = run.length() > best.length() ? run.toString() : best;
+		run.setLength(0);
+		return result;
+	}
+
+	/*
+	 * Retorna a posicao depois do ']' que fecha a classe, ou -1.
+	 */
+	private static int skipClass(String regex, int i) {
+		int depth = 0;
+		int n = regex.length();
+		while (i < n) {
+			char c = regex.charAt(i);
+			if (c == '\\') {
+				i += 2;
+				continue;
+			}
+			if (c == '[') {
+				depth++;
+				// ']' logo depois de '[' ou de '[^' e literal
+				if (i + 1 < n && regex.charAt(i + 1) == '^')
+					i++;
+				if (i + 1 < n && regex.charAt(i + 1) == ']')
+					i++;
+			} else if (c == ']' && --depth == 0) {
+				return i + 1;
+			}
+			i++;
+		}
+		return -1;
+	}
+
+	/*
+	 * Retorna a posicao depois do ')' que fecha o grupo, ou -1.
+	 */
+	private static int skipGroup(String regex, int i) {
+		int depth = 0;
+		int n = regex.length();
+		while (i < n) {
+			char c = regex.charAt(i);
+			if (c == '\\') {
+				i += 2;
+				continue;
+			}
+			if (c == '[') {
+				i = skipClass(regex, i);
+				if (i < 0)
+					return -1;
+				continue;
+			}
+			if (c == '(')
+				depth++;
+			else if (c == ')' && --depth == 0)
+				return i + 1;
+			i++;
+		}
+		return -1;
+	}
+
+	/*
+	 * Estado por thread: o Matcher reutilizado e os buffers onde a
+	 * linha candidata e decodificada.
+	 */
+	private static final class Line {
+		private final Matcher matcher;
+		private final CharsetDecoder decoder = Charset.defaultCharset().newDecoder()
+			.onMalformedInput(CodingErrorAction.REPLACE)
+			.onUnmappableCharacter(CodingErrorAction.REPLACE);
+		private byte[] bytes = new byte[256];
+		private ByteBuffer byteView = ByteBuffer.wrap(bytes);
+		private char[] chars = new char[256];
+		private CharBuffer charView = CharBuffer.wrap(chars);
+
+		Line(Pattern regex) {
+			this.matcher = regex.matcher("");
+		}
+
+		boolean matches(ByteBuffer buf, int start, int end) {
+			int length = end - start;
+			if (length > bytes.length) {
+				bytes = new byte[Math.max(length, bytes.length * 2)];
+				byteView = ByteBuffer.wrap(bytes);
+			}
+			buf.get(start, bytes, 0, length);
+			decode(length);
+			return matcher.reset(charView).find();
+		}
+
+		/*
+		 * ASCII e convertido direto; o resto passa pelo decoder do
+		 * charset padrao, como no InputStreamReader.
+		 */
+		private void decode(int length) {
+			int ascii = 0;
+			while (ascii < length && bytes[ascii] >= 0)
+				ascii++;
+			int capacity = (int) (length * (double) decoder.maxCharsPerByte()) + 1;
+			if (capacity > chars.length) {
+				chars = new char[Math.max(capacity, chars.length * 2)];
+				charView = CharBuffer.wrap(chars);
+			}
+			for (int i = 0; i < ascii; i++)
+				chars[i] = (char) bytes[i];
+			charView.clear();
+			charView.position(ascii);
+			if (ascii < length) {
+				byteView.limit(length).position(ascii);
+				decoder.reset();
+				decoder.decode(byteView, charView, true);
+				decoder.flush(charView);
+			}
+			charView.flip();
+		}
+	}
+}
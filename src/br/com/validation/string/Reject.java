@@ -0,0 +1,70 @@
+package br.com.validation.string;
+
+/**
+ * Um campo, ou registro, recusado pelo {@link RecordValidator}.
+ */
+public final class Reject {
+	private final long lineNumber;
+	private final long offset;
+	private final int column;
+	private final String value;
+	private final String message;
+
+	Reject(long lineNumber, long offset, int column, String value, String message) {
+		this.lineNumber = lineNumber;
+		this.offset = offset;
+		this.column = column;
+		this.value = value;
+		this.message = message;
+	}
+
+	/**
+	 * @return o numero da linha, a partir de 1
+	 */
+	public long getLineNumber() {
+		return lineNumber;
+	}
+
+	/**
+	 * @return o offset, em bytes, do inicio do campo na entrada, ou do
+	 *     inicio da linha se o problema e do registro inteiro
+	 */
+	public long getOffset() {
+		return offset;
+	}
+
+	/**
+	 * @return a coluna, a partir de 1, ou 0 se o problema e do registro
+	 *     inteiro (quantidade de campos)
+	 */
+	public int getColumn() {
+		return column;
+	}
+
+	/**
+	 * @return o campo como aparece na entrada, ou <code>null</code> se
+	 *     ele nao existe
+	 */
+	public String getValue() {
+		return value;
+	}
+
+	/**
+	 * @return o motivo, como "invalid value" ou "missing field"
+	 */
+	public String getMessage() {
+		return message;
+	}
+
+	@Override
+	public String toString() {
+		StringBuilder sb = new StringBuilder();
+		sb.append(lineNumber).append(':').append(offset).append(": ");
+		if (column > 0)
+			sb.append("column ").append(column).append(": ");
+		sb.append(message);
+		if (value != null)
+			sb.append(": ").append(value);
+		return sb.toString();
+	}
+}
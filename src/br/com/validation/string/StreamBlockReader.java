@@ -0,0 +1,81 @@
+package br.com.validation.string;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ReadableByteChannel;
+import java.util.Arrays;
+
+/**
+ * Le um canal sequencial (stdin, pipe, socket) para um buffer
+ * reutilizado. O pedaco de linha que sobra no fim de uma leitura e
+ * movido para o inicio do buffer e completado na leitura seguinte;
+ * o buffer so cresce quando uma unica linha nao cabe nele.
+ */
+final class StreamBlockReader implements BlockReader {
+	/** Buffer padrao: 64 KB. */
+	static final int DEFAULT_BUFFER = 1 << 16;
+
+	private final ReadableByteChannel channel;
+	private byte[] buf;
+	private ByteBuffer view;
+	private int filled;
+	private int blockEnd;
+	private long offset;
+	private boolean eof;
+
+	StreamBlockReader(ReadableByteChannel channel, int bufferSize) {
+		this.channel = channel;
+		this.buf = new byte[bufferSize];
+		this.view = ByteBuffer.wrap(buf);
+	}
+
+	public ByteBuffer next() throws IOException {
+		if (blockEnd > 0) {
+			System.arraycopy(buf, blockEnd, buf, 0, filled - blockEnd);
+			filled -= blockEnd;
+			offset += blockEnd;
+			blockEnd = 0;
+		}
+		int scanned = 0;
+		while (true) {
+			int nl = lastNewline(scanned);
+			if (nl >= 0)
+				return block(nl + 1);
+			if (eof)
+				return filled == 0 ? null : block(filled);
+			scanned = filled;
+			if (filled == buf.length) {
+				buf = Arrays.copyOf(buf, buf.length * 2);
+				view = ByteBuffer.wrap(buf);
+			}
+			view.limit(buf.length).position(filled);
+			int n = channel.read(view);
+			if (n < 0)
+				eof = true;
+			else
+				filled += n;
+		}
+	}
+
+	public long offset() {
+		return offset;
+	}
+
+	public void close() throws IOException {
+		channel.close();
+	}
+
+	private ByteBuffer block(int end) {
+		blockEnd = end;
+		view.limit(end).position(0);
+		return view;
+	}
+
+	private int lastNewline(int from) {
+		for (int i = filled - 1; i >= from; i--) {
+			if (buf[i] == '\n')
+				return i;
+		}
+		return -1;
+	}
+}
@@ -0,0 +1,348 @@
+package br.com.validation.string;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Indice persistente de trigramas para um conjunto de arquivos.
+ *
+ * Cada arquivo e dividido em blocos de aproximadamente
+ * <code>blockSize</code> bytes, cortados em fim de linha. Para cada
+ * bloco o indice guarda um mapa de bits com o hash de todos os
+ * trigramas (sequencias de 3 bytes) do bloco, o offset de inicio e
+ * quantos '\n' vem antes dele. Uma pesquisa so le os blocos em que
+ * todos os trigramas de algum literal obrigatorio estao presentes;
+ * os outros nao podem conter o padrao. Padroes sem literal
+ * obrigatorio de ao menos 3 bytes leem o arquivo inteiro.
+ *
+ * A entrada de um arquivo vale enquanto o tamanho e a data de
+ * modificacao nao mudam; depois disso ela e refeita na proxima
+ * pesquisa. <code>save()</code> grava o indice, se algo mudou.
+ *
+ * Os metodos sao sincronizados; a construcao de uma entrada le o
+ * arquivo inteiro uma vez.
+ */
+public final class TrigramIndex {
+	/** Bloco padrao: 1 MB. */
+	public static final int DEFAULT_BLOCK_SIZE = 1 << 20;
+
+	private static final int MAGIC = 0x54474931; // "TGI1"
+	/** Bits por bloco: 2^17, ou 16 KB, 1,6% de um bloco padrao. */
+	private static final int BITS = 17;
+	private static final int WORDS = (1 << BITS) / 64;
+
+	private final Path path;
+	private final int blockSize;
+	private final Map<String, Entry> entries = new HashMap<String, Entry>();
+	private boolean modified;
+
+	private TrigramIndex(Path path, int blockSize) {
+		this.path = path;
+		this.blockSize = blockSize;
+	}
+
+	/**
+	 * Abre o indice gravado em <code>path</code>, ou cria um vazio se
+	 * o arquivo ainda nao existe.
+	 */
+	public static TrigramIndex open(Path path) throws IOException {
+		return open(path, DEFAULT_BLOCK_SIZE);
+	}
+
+	/**
+	 * @param blockSize   tamanho dos blocos de entradas novas; um
+	 *     indice ja gravado mantem o seu
+	 */
+	public static TrigramIndex open(Path path, int blockSize) throws IOException {
+		if (blockSize <= 0)
+			throw new IllegalArgumentException("The block size must be positive.");
+		if (!Files.exists(path))
+			return new TrigramIndex(path, blockSize);
+		try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(path), 1 << 16))) {
+			if (in.readInt() != MAGIC || in.readInt() != BITS)
+				throw new IOException(path + ": not a trigram index");
+			TrigramIndex index = new TrigramIndex(path, in.readInt());
+			int files = in.readInt();
+			for (int i = 0; i < files; i++) {
+				String name = in.readUTF();
+				index.entries.put(name, Entry.read(in));
+			}
+			return index;
+		}
+	}
+
+	/**
+	 * Refaz a entrada do arquivo se ela nao existe ou se o arquivo
+	 * mudou.
+	 *
+	 * @return <code>true</code> se a entrada foi refeita
+	 */
+	public synchronized boolean update(Path file) throws IOException {
+		String key = key(file);
+		long size = Files.size(file);
+		long modifiedTime = Files.getLastModifiedTime(file).toMillis();
+		Entry entry = entries.get(key);
+		if (entry != null && entry.size == size && entry.modifiedTime == modifiedTime)
+			return false;
+		try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+			entries.put(key, Entry.build(channel, size, modifiedTime, blockSize));
+		}
+		modified = true;
+		return true;
+	}
+
+	/**
+	 * Grava o indice, se alguma entrada mudou. O arquivo e escrito ao
+	 * lado e depois movido, entao uma gravacao interrompida nao
+	 * corrompe o indice anterior.
+	 */
+	public synchronized void save() throws IOException {
+		if (!modified)
+			return;
+		Path parent = path.toAbsolutePath().getParent();
+		Path temp = Files.createTempFile(parent, path.getFileName().toString(), ".tmp");
+		try {
+			try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp), 1 << 16))) {
+				out.writeInt(MAGIC);
+				out.writeInt(BITS);
+				out.writeInt(blockSize);
+				out.writeInt(entries.size());
+				for (Map.Entry<String, Entry> e : entries.entrySet()) {
+					out.writeUTF(e.getKey());
+					e.getValue().write(out);
+				}
+			}
+			Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+		} finally {
+			Files.deleteIfExists(temp);
+		}
+		modified = false;
+	}
+
+	/**
+	 * Abre o arquivo lendo so os blocos que podem conter um dos
+	 * literais, atualizando a entrada antes se preciso. Arquivos
+	 * compactados sao lidos inteiros.
+	 */
+	BlockReader open(Path file, List<byte[]> literals) throws IOException {
+		if (Files.size(file) == 0 || InflatingChannel.isGzip(file))
+			return GrepEngine.open(file);
+		Ranges ranges = ranges(file, literals);
+		return new IndexedBlockReader(FileChannel.open(file, StandardOpenOption.READ), ranges);
+	}
+
+	/**
+	 * Os trechos do arquivo que podem conter um dos literais, com
+	 * blocos candidatos vizinhos ja juntados. O ultimo trecho cobre o
+	 * que tiver sido acrescentado ao arquivo depois da indexacao.
+	 */
+	synchronized Ranges ranges(Path file, List<byte[]> literals) throws IOException {
+		update(file);
+		Entry entry = entries.get(key(file));
+		boolean[] candidates = entry.candidates(literals);
+		Ranges ranges = new Ranges(candidates.length + 1);
+		for (int b = 0; b < candidates.length; b++) {
+			if (candidates[b])
+				ranges.add(entry.starts[b], entry.starts[b + 1], entry.newlines[b]);
+		}
+		ranges.add(entry.size, Long.MAX_VALUE, entry.newlines[candidates.length]);
+		return ranges;
+	}
+
+	/**
+	 * Trechos de um arquivo a pesquisar: inicio, fim (exclusivo) e
+	 * quantos '\n' vem antes do inicio.
+	 */
+	static final class Ranges {
+		final long[] starts;
+		final long[] ends;
+		final long[] newlines;
+		int count;
+
+		Ranges(int capacity) {
+			starts = new long[capacity];
+			ends = new long[capacity];
+			newlines = new long[capacity];
+		}
+
+		void add(long start, long end, long before) {
+			if (count > 0 && ends[count - 1] == start) {
+				ends[count - 1] = end;
+				return;
+			}
+			starts[count] = start;
+			ends[count] = end;
+			newlines[count] = before;
+			count++;
+		}
+	}
+
+	private static String key(Path file) {
+		return file.toAbsolutePath().normalize().toString();
+	}
+
+	private static int hash(int trigram) {
+		return (trigram * 0x9E3779B1) >>> (32 - BITS);
+	}
+
+	/*
+	 * A entrada de um arquivo: limites e contagem de linhas de cada
+	 * bloco e os mapas de bits, todos num unico long[].
+	 */
+	private static final class Entry {
+		final long size;
+		final long modifiedTime;
+		/** Inicio de cada bloco; o ultimo elemento e o tamanho do arquivo. */
+		final long[] starts;
+		/** Quantos '\n' ha antes de cada bloco. */
+		final long[] newlines;
+		final long[] bits;
+
+		Entry(long size, long modifiedTime, long[] starts, long[] newlines, long[] bits) {
+			this.size = size;
+			this.modifiedTime = modifiedTime;
+			this.starts = starts;
+			this.newlines = newlines;
+			this.bits = bits;
+		}
+
+		int blocks() {
+			return starts.length - 1;
+		}
+
+		static Entry build(FileChannel channel, long size, long modifiedTime, int blockSize) throws IOException {
+			int capacity = (int) Math.min(Integer.MAX_VALUE - 8, size / blockSize + 2);
+			long[] starts = new long[Math.min(capacity, 16)];
+			long[] newlines = new long[starts.length];
+			long[] bits = new long[starts.length * WORDS];
+			int block = 0;
+			long lines = 0;
+			long blockStart = 0;
+			int trigram = 0;
+			int filled = 0;
+			BlockReader reader = size == 0 ? null
+				: new MappedBlockReader(channel, 0, size, MappedBlockReader.DEFAULT_WINDOW, false);
+			ByteBuffer buf;
+			while (reader != null && (buf = reader.next()) != null) {
+				long offset = reader.offset();
+				int limit = buf.limit();
+				for (int i = buf.position(); i < limit; i++) {
+					byte b = buf.get(i);
+					trigram = (trigram << 8) | (b & 0xff);
+					if (filled < 2) {
+						filled++;
+					} else {
+						int h = hash(trigram & 0xffffff);
+						bits[block * WORDS + (h >>> 6)] |= 1L << h;
+					}
+					if (b == '\n') {
+						lines++;
+						long end = offset + i + 1;
+						if (end - blockStart >= blockSize && end < size) {
+							// fecha o bloco e abre o seguinte
+							block++;
+							if (block + 1 >= starts.length) {
+								starts = Arrays.copyOf(starts, starts.length * 2);
+								newlines = Arrays.copyOf(newlines, newlines.length * 2);
+								bits = Arrays.copyOf(bits, starts.length * WORDS);
+							}
+							starts[block] = end;
+							newlines[block] = lines;
+							blockStart = end;
+							filled = 0;
+						}
+					}
+				}
+			}
+			int blocks = size == 0 ? 0 : block + 1;
+			starts = Arrays.copyOf(starts, blocks + 1);
+			starts[blocks] = size;
+			newlines = Arrays.copyOf(newlines, blocks + 1);
+			newlines[blocks] = lines;
+			bits = Arrays.copyOf(bits, blocks * WORDS);
+			return new Entry(size, modifiedTime, starts, newlines, bits);
+		}
+
+		/*
+		 * Um bloco e candidato se contem todos os trigramas de algum
+		 * literal. Sem literais, ou com algum menor que 3 bytes, todos
+		 * os blocos sao candidatos.
+		 */
+		boolean[] candidates(List<byte[]> literals) {
+			boolean[] candidates = new boolean[blocks()];
+			int[][] hashes = literals == null ? null : new int[literals.size()][];
+			for (int l = 0; hashes != null && l < hashes.length; l++) {
+				byte[] literal = literals.get(l);
+				if (literal.length < 3) {
+					hashes = null;
+					break;
+				}
+				hashes[l] = new int[literal.length - 2];
+				for (int i = 0; i + 2 < literal.length; i++) {
+					int trigram = (literal[i] & 0xff) << 16 | (literal[i + 1] & 0xff) << 8 | (literal[i + 2] & 0xff);
+					hashes[l][i] = hash(trigram);
+				}
+			}
+			for (int b = 0; b < candidates.length; b++) {
+				if (hashes == null) {
+					candidates[b] = true;
+					continue;
+				}
+				for (int l = 0; l < hashes.length && !candidates[b]; l++) {
+					boolean all = true;
+					for (int h : hashes[l]) {
+						if ((bits[b * WORDS + (h >>> 6)] & (1L << h)) == 0) {
+							all = false;
+							break;
+						}
+					}
+					candidates[b] = all;
+				}
+			}
+			return candidates;
+		}
+
+		void write(DataOutputStream out) throws IOException {
+			out.writeLong(size);
+			out.writeLong(modifiedTime);
+			out.writeInt(blocks());
+			for (int b = 0; b <= blocks(); b++) {
+				out.writeLong(starts[b]);
+				out.writeLong(newlines[b]);
+			}
+			for (long word : bits)
+				out.writeLong(word);
+		}
+
+		static Entry read(DataInputStream in) throws IOException {
+			long size = in.readLong();
+			long modifiedTime = in.readLong();
+			int blocks = in.readInt();
+			long[] starts = new long[blocks + 1];
+			long[] newlines = new long[blocks + 1];
+			for (int b = 0; b <= blocks; b++) {
+				starts[b] = in.readLong();
+				newlines[b] = in.readLong();
+			}
+			long[] bits = new long[blocks * WORDS];
+			for (int i = 0; i < bits.length; i++)
+				bits[i] = in.readLong();
+			return new Entry(size, modifiedTime, starts, newlines, bits);
+		}
+	}
+}